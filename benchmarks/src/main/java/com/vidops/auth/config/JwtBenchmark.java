@@ -0,0 +1,77 @@
+package com.vidops.auth.config;
+
+import com.vidops.auth.service.FastHs256JwtService;
+import com.vidops.auth.service.JwtService;
+import com.vidops.auth.service.JwtServiceImpl;
+import com.vidops.benchmarks.Fixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private JwtService fastJwtService;
+    private JwtDecoder jwtDecoder;
+    private JwtDecoder cachingJwtDecoder;
+    private UUID userId;
+    private String token;
+
+    @Setup
+    public void setup() {
+        AuthProperties props = Fixtures.authProperties();
+        JwtConfig config = new JwtConfig();
+
+        jwtService = new JwtServiceImpl(config.jwtEncoder(props), props);
+        fastJwtService = new FastHs256JwtService(props);
+        jwtDecoder = config.jwtDecoder(props, new SimpleMeterRegistry(), 0);
+        cachingJwtDecoder = config.jwtDecoder(props, new SimpleMeterRegistry(), 10_000);
+        userId = UUID.randomUUID();
+        token = jwtService.issueAccessToken(userId, "bench@vidops.local", "USER");
+
+        // fast path'in token'ı aynı decoder'dan geçmeli
+        Jwt fast = jwtDecoder.decode(fastJwtService.issueAccessToken(userId, "bench@vidops.local", "USER"));
+        if (!userId.toString().equals(fast.getSubject())) {
+            throw new IllegalStateException("fast signer produced an unverifiable token");
+        }
+    }
+
+    @Benchmark
+    public String issueAccessToken() {
+        return jwtService.issueAccessToken(userId, "bench@vidops.local", "USER");
+    }
+
+    @Benchmark
+    public String issueAccessTokenFast() {
+        return fastJwtService.issueAccessToken(userId, "bench@vidops.local", "USER");
+    }
+
+    @Benchmark
+    public Jwt decodeAccessToken() {
+        return jwtDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeAccessTokenCached() {
+        return cachingJwtDecoder.decode(token);
+    }
+}
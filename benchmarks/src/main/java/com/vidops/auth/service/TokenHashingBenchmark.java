@@ -0,0 +1,63 @@
+package com.vidops.auth.service;
+
+import com.vidops.benchmarks.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cheap per-request helpers on the refresh / verify-email / register paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenHashingBenchmark {
+
+    private RefreshTokenServiceImpl refreshTokenService;
+    private EmailVerificationServiceImpl emailVerificationService;
+    private String rawToken;
+
+    @Setup
+    public void setup() {
+        refreshTokenService = new RefreshTokenServiceImpl(null, null, Fixtures.authProperties());
+        emailVerificationService = new EmailVerificationServiceImpl(null, null);
+        rawToken = refreshTokenService.generateToken();
+    }
+
+    @Benchmark
+    public String refreshSha256Hex() {
+        return RefreshTokenServiceImpl.sha256Hex(rawToken);
+    }
+
+    @Benchmark
+    public String refreshGenerateToken() {
+        return refreshTokenService.generateToken();
+    }
+
+    @Benchmark
+    public String verificationSha256Base64Url() {
+        return emailVerificationService.sha256Base64Url(rawToken);
+    }
+
+    @Benchmark
+    public String normalizeFullNameGiven() {
+        return AuthServiceImpl.normalizeFullName("  Enis Kaan  ", "enis@example.com");
+    }
+
+    @Benchmark
+    public String normalizeFullNameFromEmail() {
+        return AuthServiceImpl.normalizeFullName(null, "enis.kaan_test-user@example.com");
+    }
+}
@@ -0,0 +1,24 @@
+package com.vidops.benchmarks;
+
+import com.vidops.auth.config.AuthProperties;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class Fixtures {
+
+    // 256-bit HS256 key, fixed so tokens are comparable across runs
+    public static final String SECRET_BASE64 =
+            Base64.getEncoder().encodeToString("vidops-benchmark-secret-01234567".getBytes(StandardCharsets.US_ASCII));
+
+    private Fixtures() {
+    }
+
+    public static AuthProperties authProperties() {
+        return new AuthProperties(
+                new AuthProperties.Jwt("vidops.local", SECRET_BASE64, 15, 30),
+                new AuthProperties.Cookies("VIDOPS_REFRESH", false, "/", null, "Lax"),
+                new AuthProperties.RefreshTokens(2)
+        );
+    }
+}
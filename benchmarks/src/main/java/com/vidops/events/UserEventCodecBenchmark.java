@@ -0,0 +1,70 @@
+package com.vidops.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary v1 vs JSON for user.registered (encode on the outbox path, decode on the consumer).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserEventCodecBenchmark {
+
+    private UserEventCodec binary;
+    private UserEventCodec json;
+    private UserRegisteredEvent event;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+
+    @Setup
+    public void setup() {
+        ObjectMapper om = new ObjectMapper();
+        om.registerModule(new JavaTimeModule());
+        om.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        binary = new UserEventCodec(om, UserEventCodec.WireFormat.BINARY);
+        json = new UserEventCodec(om, UserEventCodec.WireFormat.JSON);
+        event = new UserRegisteredEvent(UUID.randomUUID(), "ayse.yilmaz@example.com", "Ayşe Yılmaz", Instant.now());
+        binaryPayload = binary.encode(event);
+        jsonPayload = json.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binary.encode(event);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return json.encode(event);
+    }
+
+    @Benchmark
+    public UserRegisteredEvent decodeBinary() {
+        return binary.decodeRegistered(binaryPayload);
+    }
+
+    @Benchmark
+    public UserRegisteredEvent decodeJson() {
+        return binary.decodeRegistered(jsonPayload);
+    }
+}
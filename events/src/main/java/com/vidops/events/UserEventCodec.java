@@ -0,0 +1,197 @@
+package com.vidops.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * user.* topic'lerinin payload formatı.
+ *
+ * <pre>
+ * v1: [version:1][type:1][userId:16]...
+ *   registered: [timestamp:8][email:str][fullName:str]
+ *   deleted:    [timestamp:8]
+ *   str: [varint len+1][utf-8]   (0 -> null)
+ *   timestamp: epoch millis, null -> Long.MIN_VALUE
+ * </pre>
+ *
+ * İlk byte '{' ise mesaj eski JSON formatıdır ve Jackson ile okunur; böylece deploy sırasında
+ * topic'te kalan mesajlar da tüketilebilir. Instant'lar milisaniyeye yuvarlanır.
+ */
+public final class UserEventCodec {
+
+    public enum WireFormat { BINARY, JSON }
+
+    static final byte VERSION_1 = 1;
+    static final byte TYPE_REGISTERED = 1;
+    static final byte TYPE_DELETED = 2;
+
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final int HEADER_SIZE = 2 + 16 + 8;
+
+    private final ObjectMapper json;
+    private final WireFormat format;
+
+    public UserEventCodec(ObjectMapper json, WireFormat format) {
+        this.json = json;
+        this.format = format;
+    }
+
+    public WireFormat format() {
+        return format;
+    }
+
+    public byte[] encode(UserRegisteredEvent e) {
+        if (format == WireFormat.JSON) return writeJson(e);
+
+        byte[] email = utf8(e.email());
+        byte[] fullName = utf8(e.fullName());
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + stringSize(email) + stringSize(fullName));
+        writeHeader(buf, TYPE_REGISTERED, e.userId(), e.timestamp());
+        writeString(buf, email);
+        writeString(buf, fullName);
+        return buf.array();
+    }
+
+    public byte[] encode(UserDeletedEvent e) {
+        if (format == WireFormat.JSON) return writeJson(e);
+
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE);
+        writeHeader(buf, TYPE_DELETED, e.userId(), e.timestamp());
+        return buf.array();
+    }
+
+    /**
+     * @throws IllegalArgumentException payload bozuk veya eksikse (her durumda aynı tip)
+     */
+    public UserRegisteredEvent decodeRegistered(byte[] payload) {
+        if (isJson(payload)) return readJson(payload, UserRegisteredEvent.class);
+
+        ByteBuffer buf = readHeader(payload, TYPE_REGISTERED);
+        try {
+            UUID userId = new UUID(buf.getLong(), buf.getLong());
+            Instant timestamp = readTimestamp(buf);
+            String email = readString(buf);
+            String fullName = readString(buf);
+            return new UserRegisteredEvent(userId, email, fullName, timestamp);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated user.registered payload: " + payload.length + " bytes", e);
+        }
+    }
+
+    public UserDeletedEvent decodeDeleted(byte[] payload) {
+        if (isJson(payload)) return readJson(payload, UserDeletedEvent.class);
+
+        ByteBuffer buf = readHeader(payload, TYPE_DELETED);
+        UUID userId = new UUID(buf.getLong(), buf.getLong());
+        return new UserDeletedEvent(userId, readTimestamp(buf));
+    }
+
+    private static boolean isJson(byte[] payload) {
+        return payload.length > 0 && payload[0] == '{';
+    }
+
+    private static void writeHeader(ByteBuffer buf, byte type, UUID userId, Instant timestamp) {
+        buf.put(VERSION_1);
+        buf.put(type);
+        buf.putLong(userId.getMostSignificantBits());
+        buf.putLong(userId.getLeastSignificantBits());
+        buf.putLong(timestamp == null ? NULL_TIMESTAMP : timestamp.toEpochMilli());
+    }
+
+    private static ByteBuffer readHeader(byte[] payload, byte expectedType) {
+        if (payload.length < HEADER_SIZE) {
+            throw new IllegalArgumentException("Event payload too short: " + payload.length + " bytes");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(payload);
+        byte version = buf.get();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported event schema version: " + version);
+        }
+        byte type = buf.get();
+        if (type != expectedType) {
+            throw new IllegalArgumentException("Unexpected event type " + type + ", expected " + expectedType);
+        }
+        return buf;
+    }
+
+    private static Instant readTimestamp(ByteBuffer buf) {
+        long millis = buf.getLong();
+        return millis == NULL_TIMESTAMP ? null : Instant.ofEpochMilli(millis);
+    }
+
+    private static byte[] utf8(String s) {
+        return s == null ? null : s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] b) {
+        if (b == null) return 1;
+        return varintSize(b.length + 1) + b.length;
+    }
+
+    private static void writeString(ByteBuffer buf, byte[] b) {
+        if (b == null) {
+            buf.put((byte) 0);
+            return;
+        }
+        int v = b.length + 1;
+        while ((v & ~0x7F) != 0) {
+            buf.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buf.put((byte) v);
+        buf.put(b);
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 28) throw new IllegalArgumentException("Malformed string length");
+            b = buf.get();
+            v |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        if (v == 0) return null;
+        // 5 byte'lık varint negatif değer üretebilir
+        int len = v - 1;
+        if (len < 0 || len > buf.remaining()) {
+            throw new IllegalArgumentException("String length " + len + " exceeds payload");
+        }
+        String s = new String(buf.array(), buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return s;
+    }
+
+    private static int varintSize(int v) {
+        int size = 1;
+        while ((v & ~0x7F) != 0) {
+            size++;
+            v >>>= 7;
+        }
+        return size;
+    }
+
+    private byte[] writeJson(Object event) {
+        try {
+            return json.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private <T> T readJson(byte[] payload, Class<T> type) {
+        try {
+            return json.readValue(payload, type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read legacy JSON " + type.getSimpleName(), e);
+        }
+    }
+}
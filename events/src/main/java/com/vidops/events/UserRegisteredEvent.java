@@ -0,0 +1,20 @@
+package com.vidops.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserRegisteredEvent(
+        UUID userId,
+        String email,
+        String fullName,
+        Instant timestamp
+) {
+    /**
+     * Aynı kullanıcının iki event'i birleştirilirken sonraki kalır; isimsiz (ensure) event
+     * önceki event'in ismini silmesin diye ismi ondan alır.
+     */
+    public UserRegisteredEvent after(UserRegisteredEvent previous) {
+        if (previous == null || (fullName != null && !fullName.isBlank())) return this;
+        return new UserRegisteredEvent(userId, email, previous.fullName(), timestamp);
+    }
+}
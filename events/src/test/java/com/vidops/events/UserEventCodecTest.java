@@ -0,0 +1,112 @@
+package com.vidops.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserEventCodecTest {
+
+    private static final UUID USER_ID = UUID.fromString("5f0c1f5e-8d3a-4b8e-9a51-3c2d7e6f1a90");
+    private static final Instant TIMESTAMP = Instant.parse("2025-03-01T10:15:30.123Z");
+
+    private final ObjectMapper json = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final UserEventCodec binary = new UserEventCodec(json, UserEventCodec.WireFormat.BINARY);
+    private final UserEventCodec legacy = new UserEventCodec(json, UserEventCodec.WireFormat.JSON);
+
+    @Test
+    void registeredRoundTrip() {
+        UserRegisteredEvent e = new UserRegisteredEvent(USER_ID, "ayşe@example.com", "Ayşe Yılmaz", TIMESTAMP);
+
+        byte[] payload = binary.encode(e);
+
+        assertThat(payload[0]).isEqualTo(UserEventCodec.VERSION_1);
+        assertThat(binary.decodeRegistered(payload)).isEqualTo(e);
+    }
+
+    @Test
+    void registeredRoundTripKeepsNullsAndLongStrings() {
+        // 200 byte: uzunluk varint'i iki byte
+        String longName = "x".repeat(200);
+        UserRegisteredEvent withNulls = new UserRegisteredEvent(USER_ID, null, null, null);
+        UserRegisteredEvent withLong = new UserRegisteredEvent(USER_ID, "", longName, TIMESTAMP);
+
+        assertThat(binary.decodeRegistered(binary.encode(withNulls))).isEqualTo(withNulls);
+        assertThat(binary.decodeRegistered(binary.encode(withLong))).isEqualTo(withLong);
+    }
+
+    @Test
+    void deletedRoundTrip() {
+        UserDeletedEvent e = new UserDeletedEvent(USER_ID, TIMESTAMP);
+
+        assertThat(binary.decodeDeleted(binary.encode(e))).isEqualTo(e);
+    }
+
+    @Test
+    void timestampsAreTruncatedToMillis() {
+        Instant nanos = Instant.parse("2025-03-01T10:15:30.123456789Z");
+
+        UserDeletedEvent decoded = binary.decodeDeleted(binary.encode(new UserDeletedEvent(USER_ID, nanos)));
+
+        assertThat(decoded.timestamp()).isEqualTo(TIMESTAMP);
+    }
+
+    @Test
+    void binaryCodecReadsJsonPayloads() {
+        UserRegisteredEvent registered = new UserRegisteredEvent(USER_ID, "a@example.com", "A", TIMESTAMP);
+        UserDeletedEvent deleted = new UserDeletedEvent(USER_ID, TIMESTAMP);
+
+        assertThat(binary.decodeRegistered(legacy.encode(registered))).isEqualTo(registered);
+        assertThat(binary.decodeDeleted(legacy.encode(deleted))).isEqualTo(deleted);
+    }
+
+    @Test
+    void readsLegacyJsonWrittenBeforeBinaryFormat() {
+        byte[] payload = """
+                {"userId":"5f0c1f5e-8d3a-4b8e-9a51-3c2d7e6f1a90","email":"a@example.com","fullName":"A","timestamp":"2025-03-01T10:15:30.123Z"}
+                """.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(binary.decodeRegistered(payload))
+                .isEqualTo(new UserRegisteredEvent(USER_ID, "a@example.com", "A", TIMESTAMP));
+    }
+
+    @Test
+    void rejectsNegativeStringLengthAndTruncatedVarint() {
+        byte[] registered = binary.encode(new UserRegisteredEvent(USER_ID, null, null, TIMESTAMP));
+        int header = registered.length - 2;
+
+        // email uzunluğu: 5 byte'lık varint, v - 1 negatif
+        byte[] negative = Arrays.copyOf(registered, header + 5);
+        negative[header] = (byte) 0xFF;
+        negative[header + 1] = (byte) 0xFF;
+        negative[header + 2] = (byte) 0xFF;
+        negative[header + 3] = (byte) 0xFF;
+        negative[header + 4] = (byte) 0x0F;
+        // varint devam ediyor ama payload bitiyor
+        byte[] truncated = Arrays.copyOf(registered, header + 1);
+        truncated[header] = (byte) 0x80;
+
+        assertThatThrownBy(() -> binary.decodeRegistered(negative)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> binary.decodeRegistered(truncated)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsWrongTypeTruncatedAndMalformedPayloads() {
+        byte[] deleted = binary.encode(new UserDeletedEvent(USER_ID, TIMESTAMP));
+        byte[] registered = binary.encode(new UserRegisteredEvent(USER_ID, "a@example.com", "A", TIMESTAMP));
+
+        assertThatThrownBy(() -> binary.decodeRegistered(deleted)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> binary.decodeDeleted(Arrays.copyOf(deleted, 10))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> binary.decodeRegistered(Arrays.copyOf(registered, registered.length - 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> binary.decodeRegistered("{not json".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
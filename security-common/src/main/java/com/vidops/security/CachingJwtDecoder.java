@@ -0,0 +1,37 @@
+package com.vidops.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Instant;
+
+/**
+ * Doğrulanmış token'ları exp anına kadar bellekte tutan JwtDecoder.
+ * Aynı access token'la gelen tekrar istekler imza kontrolünü ve JSON parse'ı atlar.
+ * Sadece başarılı decode'lar cache'lenir.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final VerifiedJwtCache cache;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize, MeterRegistry meterRegistry, String name) {
+        this.delegate = delegate;
+        this.cache = new VerifiedJwtCache(maxSize, meterRegistry, name);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        VerifiedJwtCache.TokenKey key = cache.keyOf(token);
+        Instant now = Instant.now();
+
+        Jwt cached = cache.get(key, now);
+        if (cached != null) return cached;
+
+        Jwt jwt = delegate.decode(token);
+        cache.put(key, jwt, now);
+        return jwt;
+    }
+}
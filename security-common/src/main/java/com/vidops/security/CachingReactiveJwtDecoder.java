@@ -0,0 +1,34 @@
+package com.vidops.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * {@link CachingJwtDecoder}'ın reactive karşılığı (gateway). Hit'te delegate'e hiç gidilmez.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    private final ReactiveJwtDecoder delegate;
+    private final VerifiedJwtCache cache;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, int maxSize, MeterRegistry meterRegistry, String name) {
+        this.delegate = delegate;
+        this.cache = new VerifiedJwtCache(maxSize, meterRegistry, name);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        VerifiedJwtCache.TokenKey key = cache.keyOf(token);
+        Instant now = Instant.now();
+
+        Jwt cached = cache.get(key, now);
+        if (cached != null) return Mono.just(cached);
+
+        return delegate.decode(token).doOnNext(jwt -> cache.put(key, jwt, now));
+    }
+}
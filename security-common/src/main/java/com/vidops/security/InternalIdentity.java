@@ -0,0 +1,14 @@
+package com.vidops.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Gateway'in doğruladığı access token'dan servislere taşınan kimlik.
+ */
+public record InternalIdentity(
+        UUID userId,
+        String email,
+        String roles,
+        Instant expiresAt
+) {}
@@ -0,0 +1,98 @@
+package com.vidops.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Optional;
+
+/**
+ * Gateway'in imzaladığı X-Vidops-Identity header'ından kimlik kurar; bearer token tekrar decode edilmez.
+ *
+ * Header geçerliyse controller'lar {@code @AuthenticationPrincipal Jwt} ile aynı claim'leri
+ * (sub, email, roles, exp) görür ve Authorization header'ı BearerTokenAuthenticationFilter'dan
+ * gizlenir. Header yoksa veya geçersizse hiçbir şey yapılmaz, normal bearer doğrulaması çalışır.
+ *
+ * BearerTokenAuthenticationFilter'dan önce security chain'e eklenmelidir.
+ */
+public class InternalIdentityAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final InternalIdentityCodec codec;
+    private final JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+    private final SecurityContextHolderStrategy contextHolder = SecurityContextHolder.getContextHolderStrategy();
+
+    public InternalIdentityAuthenticationFilter(InternalIdentityCodec codec) {
+        this.codec = codec;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Instant now = Instant.now();
+        Optional<InternalIdentity> identity = codec.decode(request.getHeader(InternalIdentityCodec.HEADER), now);
+        if (identity.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        InternalIdentity id = identity.get();
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String tokenValue = authorization != null && authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())
+                ? authorization.substring(BEARER_PREFIX.length())
+                : "internal";
+
+        Jwt jwt = Jwt.withTokenValue(tokenValue)
+                .header("alg", "HS256")
+                .subject(id.userId().toString())
+                .claim("email", id.email())
+                .claim("roles", id.roles())
+                .expiresAt(id.expiresAt())
+                .build();
+
+        AbstractAuthenticationToken authentication = converter.convert(jwt);
+        authentication.setDetails(request.getRemoteAddr());
+
+        SecurityContext context = contextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        contextHolder.setContext(context);
+
+        chain.doFilter(new WithoutAuthorization(request), response);
+    }
+
+    /**
+     * Kimlik zaten kuruldu; BearerTokenAuthenticationFilter token'ı ikinci kez doğrulamasın.
+     */
+    private static final class WithoutAuthorization extends HttpServletRequestWrapper {
+
+        WithoutAuthorization(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return HttpHeaders.AUTHORIZATION.equalsIgnoreCase(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.vidops.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * X-Vidops-Identity header formatı: {@code v1.<payload>.<hmac>} (base64url).
+ *
+ * <pre>
+ * payload: [userId:16][exp epoch sec:8][email: u16 len + utf-8][roles: u16 len + utf-8]
+ * hmac:    HmacSHA256(internal key, "v1." + payload)
+ * </pre>
+ *
+ * İmza gateway ile servisler arasında paylaşılan internal key ile atılır; header'ı
+ * sadece gateway üretebilir. Geçerlilik access token'ın exp'i ile sınırlıdır.
+ */
+public class InternalIdentityCodec {
+
+    public static final String HEADER = "X-Vidops-Identity";
+
+    private static final String PREFIX = "v1.";
+    private static final Base64.Encoder B64E = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64D = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> mac;
+
+    public InternalIdentityCodec(byte[] key) {
+        if (key.length < 32) {
+            throw new IllegalStateException("vidops.security.internal.key-base64 must be at least 256 bits");
+        }
+        SecretKeySpec spec = new SecretKeySpec(key, "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance("HmacSHA256");
+                m.init(spec);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        });
+    }
+
+    public static InternalIdentityCodec fromBase64(String keyBase64) {
+        return new InternalIdentityCodec(Base64.getDecoder().decode(keyBase64));
+    }
+
+    public String encode(InternalIdentity id) {
+        byte[] email = utf8(id.email());
+        byte[] roles = utf8(id.roles());
+        ByteBuffer buf = ByteBuffer.allocate(16 + 8 + 2 + email.length + 2 + roles.length);
+        buf.putLong(id.userId().getMostSignificantBits());
+        buf.putLong(id.userId().getLeastSignificantBits());
+        buf.putLong(id.expiresAt().getEpochSecond());
+        buf.putShort((short) email.length).put(email);
+        buf.putShort((short) roles.length).put(roles);
+
+        String signed = PREFIX + B64E.encodeToString(buf.array());
+        return signed + "." + B64E.encodeToString(sign(signed));
+    }
+
+    /**
+     * İmza geçersizse, format bozuksa veya süresi dolmuşsa boş döner.
+     */
+    public Optional<InternalIdentity> decode(String header, Instant now) {
+        if (header == null || !header.startsWith(PREFIX)) return Optional.empty();
+
+        int dot = header.lastIndexOf('.');
+        if (dot <= PREFIX.length()) return Optional.empty();
+
+        try {
+            String signed = header.substring(0, dot);
+            byte[] expected = sign(signed);
+            byte[] actual = B64D.decode(header.substring(dot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) return Optional.empty();
+
+            ByteBuffer buf = ByteBuffer.wrap(B64D.decode(signed.substring(PREFIX.length())));
+            UUID userId = new UUID(buf.getLong(), buf.getLong());
+            Instant exp = Instant.ofEpochSecond(buf.getLong());
+            if (!exp.isAfter(now)) return Optional.empty();
+            String email = readString(buf);
+            String roles = readString(buf);
+            return Optional.of(new InternalIdentity(userId, email, roles, exp));
+        } catch (RuntimeException e) {
+            // base64 / buffer hataları: header'ı yok say
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String signed) {
+        return mac.get().doFinal(signed.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] utf8(String s) {
+        byte[] b = s == null ? new byte[0] : s.getBytes(StandardCharsets.UTF_8);
+        if (b.length > 0xFFFF) throw new IllegalArgumentException("Identity field too long");
+        return b;
+    }
+
+    private static String readString(ByteBuffer buf) {
+        int len = Short.toUnsignedInt(buf.getShort());
+        String s = new String(buf.array(), buf.position(), len, StandardCharsets.UTF_8);
+        buf.position(buf.position() + len);
+        return s;
+    }
+}
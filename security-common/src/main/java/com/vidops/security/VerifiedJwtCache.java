@@ -0,0 +1,91 @@
+package com.vidops.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Doğrulanmış token'ları exp anına kadar tutar; servlet ve reactive decoder'lar ortak kullanır.
+ *
+ * Key token'ın SHA-256 özetidir (token'ın kendisi tutulmaz). exp'i olmayan token'lar cache'e
+ * girmez. maxSize aşılınca önce süresi dolmuşlar, gerekirse rastgele girişler atılır.
+ */
+public class VerifiedJwtCache {
+
+    private final int maxSize;
+    private final Map<TokenKey, Jwt> cache = new ConcurrentHashMap<>();
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(VerifiedJwtCache::newDigest);
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public VerifiedJwtCache(int maxSize, MeterRegistry meterRegistry, String name) {
+        this.maxSize = maxSize;
+        this.hits = meterRegistry.counter("vidops.security.jwt.cache", "decoder", name, "result", "hit");
+        this.misses = meterRegistry.counter("vidops.security.jwt.cache", "decoder", name, "result", "miss");
+        meterRegistry.gaugeMapSize("vidops.security.jwt.cache.size", Tags.of("decoder", name), cache);
+    }
+
+    public TokenKey keyOf(String token) {
+        MessageDigest md = sha256.get();
+        ByteBuffer d = ByteBuffer.wrap(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new TokenKey(d.getLong(), d.getLong(), d.getLong(), d.getLong());
+    }
+
+    /**
+     * @return geçerli cache girişi ya da null (miss)
+     */
+    public Jwt get(TokenKey key, Instant now) {
+        Jwt cached = cache.get(key);
+        if (cached != null) {
+            if (cached.getExpiresAt().isAfter(now)) {
+                hits.increment();
+                return cached;
+            }
+            cache.remove(key, cached);
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(TokenKey key, Jwt jwt, Instant now) {
+        if (jwt.getExpiresAt() == null || !jwt.getExpiresAt().isAfter(now)) return;
+        if (cache.size() >= maxSize) evict(now);
+        cache.put(key, jwt);
+    }
+
+    private void evict(Instant now) {
+        cache.values().removeIf(j -> !j.getExpiresAt().isAfter(now));
+
+        if (cache.size() < maxSize) return;
+
+        // hepsi hâlâ geçerliyse ~%10 yer aç; ConcurrentHashMap sırası hash'e göre, yani pratikte rastgele
+        int excess = Math.max(1, maxSize / 10);
+        Iterator<TokenKey> it = cache.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public record TokenKey(long a, long b, long c, long d) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.vidops.gateway.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sıkıştırılmış halleriyle birlikte tutulan statik dosyalar. Okuma kilitsizdir; toplam boyut
+ * maxBytes'ı aşınca en eski eklenenler atılır (FIFO, asset'ler nadiren değiştiği için yeterli).
+ */
+public class StaticAssetCache {
+
+    private final long maxBytes;
+    private final Map<String, Asset> entries = new ConcurrentHashMap<>();
+    private final Queue<String> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bytes = new AtomicLong();
+
+    public StaticAssetCache(long maxBytes, MeterRegistry meterRegistry) {
+        this.maxBytes = maxBytes;
+        Gauge.builder("vidops.gateway.static.cache.bytes", bytes, AtomicLong::get).register(meterRegistry);
+        meterRegistry.gaugeMapSize("vidops.gateway.static.cache.entries", Tags.empty(), entries);
+    }
+
+    public Asset get(String key, long nowNanos) {
+        Asset asset = entries.get(key);
+        if (asset == null) return null;
+        if (!asset.immutable() && nowNanos - asset.expiresAtNanos() >= 0) {
+            if (entries.remove(key, asset)) bytes.addAndGet(-asset.size());
+            return null;
+        }
+        return asset;
+    }
+
+    public void put(String key, Asset asset) {
+        if (asset.size() > maxBytes) return;
+
+        Asset previous = entries.put(key, asset);
+        bytes.addAndGet(asset.size() - (previous == null ? 0 : previous.size()));
+        if (previous == null) insertionOrder.add(key);
+
+        while (bytes.get() > maxBytes) {
+            String oldest = insertionOrder.poll();
+            if (oldest == null) break;
+            Asset evicted = entries.remove(oldest);
+            if (evicted != null) bytes.addAndGet(-evicted.size());
+        }
+    }
+
+    /**
+     * gzip null ise sıkıştırma anlamlı değil (küçük dosya veya zaten sıkıştırılmış format).
+     */
+    public record Asset(
+            byte[] identity,
+            byte[] gzip,
+            String contentType,
+            String etag,
+            Instant lastModified,
+            boolean immutable,
+            long expiresAtNanos
+    ) {
+        public long size() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+}
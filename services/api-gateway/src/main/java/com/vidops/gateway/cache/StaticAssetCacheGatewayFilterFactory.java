@@ -0,0 +1,279 @@
+package com.vidops.gateway.cache;
+
+import com.vidops.gateway.config.StaticCacheProperties;
+import com.vidops.gateway.support.BodyCapturingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * frontend route'u için bellek içi statik dosya cache'i.
+ *
+ * İlk istekte dosya upstream'den sıkıştırılmamış alınır, gzip'lenmiş haliyle birlikte saklanır.
+ * Sonraki istekler upstream'e gitmeden cache'ten (Accept-Encoding'e göre gzip ya da ham) cevaplanır.
+ * ETag içerik özetidir; If-None-Match / If-Modified-Since eşleşirse 304 döner. Hash'li dosya
+ * adları immutable olarak işaretlenir, documentPaths (index.html) her seferinde doğrulanır.
+ *
+ * Sadece query'siz, Range'siz GET/HEAD, 200, Content-Length'i maxEntryBytes altında ve
+ * Set-Cookie'siz, no-store/private olmayan cevaplar cache'lenir. Hash'li adın Content-Type'ı
+ * uzantısına uymalı: nginx'in SPA fallback'i eksik dosya için 200 + index.html döner, o HTML
+ * bir yıllığına JS diye cache'lenmesin. Geri kalan her şey olduğu gibi proxy'lenir.
+ */
+public class StaticAssetCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<StaticAssetCacheGatewayFilterFactory.Config> {
+
+    // body'yi NettyWriteResponseFilter yazar; decorator ondan önce takılmalı
+    private static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "no-cache";
+
+    private final StaticCacheProperties props;
+    private final StaticAssetCache cache;
+    private final Pattern hashed;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+    private final Counter bypassed;
+
+    public StaticAssetCacheGatewayFilterFactory(StaticCacheProperties props, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.props = props;
+        this.cache = new StaticAssetCache(props.maxBytes(), meterRegistry);
+        this.hashed = Pattern.compile(props.hashedPattern());
+        this.hits = meterRegistry.counter("vidops.gateway.static.cache", "result", "hit");
+        this.misses = meterRegistry.counter("vidops.gateway.static.cache", "result", "miss");
+        this.notModified = meterRegistry.counter("vidops.gateway.static.cache", "result", "not_modified");
+        this.bypassed = meterRegistry.counter("vidops.gateway.static.cache", "result", "bypass");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter(this::filter, ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        HttpMethod method = request.getMethod();
+        if (!props.enabled()
+                || (method != HttpMethod.GET && method != HttpMethod.HEAD)
+                || request.getHeaders().containsHeader(HttpHeaders.RANGE)) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+
+        // rastgele query/path'ler cache'i doldurup hash'li dosyaları düşürmesin
+        String path = request.getPath().value();
+        boolean immutable = hashed.matcher(path).matches();
+        if (request.getURI().getRawQuery() != null || (!immutable && !props.documentPaths().contains(path))) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+        String key = path;
+
+        StaticAssetCache.Asset cached = cache.get(key, System.nanoTime());
+        if (cached != null) {
+            hits.increment();
+            return write(exchange.getResponse(), request, cached, "HIT");
+        }
+        if (method == HttpMethod.HEAD) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+
+        misses.increment();
+        // cache'e tam ve sıkıştırılmamış gövde girsin
+        ServerHttpRequest upstream = request.mutate()
+                .headers(h -> {
+                    h.remove(HttpHeaders.ACCEPT_ENCODING);
+                    h.remove(HttpHeaders.IF_NONE_MATCH);
+                    h.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+
+        BodyCapturingResponse response = new BodyCapturingResponse(
+                exchange.getResponse(),
+                props.maxEntryBytes(),
+                r -> isCacheable(r, immutable ? path : null),
+                (delegate, body) -> Mono.fromCallable(() -> toAsset(immutable, delegate.getHeaders(), body))
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .flatMap(asset -> {
+                            cache.put(key, asset);
+                            return write(delegate, request, asset, "MISS");
+                        }));
+
+        return chain.filter(exchange.mutate().request(upstream).response(response).build());
+    }
+
+    /**
+     * @param hashedPath hash'li dosya adıysa path'i, değilse null
+     */
+    private boolean isCacheable(ServerHttpResponse response, String hashedPath) {
+        HttpHeaders headers = response.getHeaders();
+        if (response.getStatusCode() == null || response.getStatusCode().value() != 200) return false;
+        if (!BodyCapturingResponse.fitsIn(response, props.maxEntryBytes())) return false;
+        if (headers.getContentType() == null || headers.containsHeader(HttpHeaders.SET_COOKIE)) return false;
+        if (hashedPath != null && !matchesExtension(hashedPath, headers.getContentType())) return false;
+
+        String encoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (encoding != null && !"identity".equalsIgnoreCase(encoding)) return false;
+
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null) {
+            String cc = cacheControl.toLowerCase(Locale.ROOT);
+            if (cc.contains("no-store") || cc.contains("private")) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Hash'li adla gelen cevabın tipi uzantısından beklenenle aynı mı. text/html hiçbir zaman
+     * kabul edilmez (hashedPattern html uzantısını kapsamaz); JS için nginx'in
+     * application/javascript'i ile text/javascript eşdeğer sayılır.
+     */
+    static boolean matchesExtension(String path, MediaType actual) {
+        String type = actual.getType().toLowerCase(Locale.ROOT);
+        String subtype = actual.getSubtype().toLowerCase(Locale.ROOT);
+        if (type.equals("text") && subtype.equals("html")) return false;
+
+        String lower = path.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".js") || lower.endsWith(".mjs")) {
+            return subtype.equals("javascript") || subtype.equals("ecmascript") || subtype.equals("x-javascript");
+        }
+        return MediaTypeFactory.getMediaType(path)
+                .map(expected -> expected.getType().equalsIgnoreCase(type) && expected.getSubtype().equalsIgnoreCase(subtype))
+                .orElse(false);
+    }
+
+    private StaticAssetCache.Asset toAsset(boolean immutable, HttpHeaders headers, byte[] body) {
+        String contentType = headers.getContentType().toString();
+        long lastModified = headers.getLastModified();
+
+        return new StaticAssetCache.Asset(
+                body,
+                isCompressible(contentType) && body.length >= props.minCompressBytes() ? gzipIfSmaller(body) : null,
+                contentType,
+                etag(body),
+                lastModified > 0 ? Instant.ofEpochMilli(lastModified) : Instant.now().truncatedTo(ChronoUnit.SECONDS),
+                immutable,
+                System.nanoTime() + props.ttl().toNanos()
+        );
+    }
+
+    private Mono<Void> write(ServerHttpResponse response, ServerHttpRequest request, StaticAssetCache.Asset asset, String cacheStatus) {
+        HttpHeaders headers = response.getHeaders();
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.remove(HttpHeaders.ACCEPT_RANGES);
+        headers.setETag(asset.etag());
+        headers.setLastModified(asset.lastModified());
+        headers.setCacheControl(asset.immutable() ? IMMUTABLE : REVALIDATE);
+        headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        headers.set("X-Cache", cacheStatus);
+
+        if (isNotModified(request.getHeaders(), asset)) {
+            notModified.increment();
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        byte[] body = asset.identity();
+        if (asset.gzip() != null && acceptsGzip(request.getHeaders())) {
+            body = asset.gzip();
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        headers.set(HttpHeaders.CONTENT_TYPE, asset.contentType());
+        headers.setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private static boolean isNotModified(HttpHeaders requestHeaders, StaticAssetCache.Asset asset) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            for (String tag : ifNoneMatch) {
+                String t = tag.startsWith("W/") ? tag.substring(2) : tag;
+                if ("*".equals(t) || asset.etag().equals(t)) return true;
+            }
+            return false;
+        }
+        long since = requestHeaders.getIfModifiedSince();
+        return since > 0 && asset.lastModified().toEpochMilli() <= since;
+    }
+
+    private static boolean acceptsGzip(HttpHeaders requestHeaders) {
+        for (String value : requestHeaders.getValuesAsList(HttpHeaders.ACCEPT_ENCODING)) {
+            String v = value.toLowerCase(Locale.ROOT).replace(" ", "");
+            if ((v.equals("gzip") || v.startsWith("gzip;") || v.equals("*")) && !v.endsWith("q=0") && !v.endsWith("q=0.0")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isCompressible(String contentType) {
+        String ct = contentType.toLowerCase(Locale.ROOT);
+        for (String prefix : props.compressibleTypes()) {
+            if (ct.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+
+    private static byte[] gzipIfSmaller(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] compressed = out.toByteArray();
+        // %10'dan az kazanç CPU ve Vary karmaşasına değmez
+        return compressed.length < body.length * 0.9 ? compressed : null;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+
+    public static class Config {
+    }
+}
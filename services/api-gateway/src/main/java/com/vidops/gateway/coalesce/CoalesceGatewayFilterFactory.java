@@ -0,0 +1,166 @@
+package com.vidops.gateway.coalesce;
+
+import com.vidops.gateway.config.CoalesceProperties;
+import com.vidops.gateway.filter.EdgeAuthenticationFilter;
+import com.vidops.gateway.support.BodyCapturingResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aynı anda gelen özdeş GET'leri (aynı kullanıcı, path, query, Accept ve Origin) tek upstream çağrısında
+ * birleştirir. İlk istek (leader) upstream'e gider; o sürerken gelenler (follower) bekler ve
+ * leader'ın cevabının kopyasını alır. Cevap tamamlanınca key silinir, yani bu bir cache değildir.
+ *
+ * Paylaşılamayan cevaplarda (Set-Cookie içeren, Content-Length'i bilinmeyen veya maxBodyBytes'tan
+ * büyük) ya da leader iptal/hata ile bittiğinde follower'lar kendi istekleriyle upstream'e gider.
+ *
+ * Kimliği doğrulanmamış ama Authorization/Cookie taşıyan istekler birleştirilmez: kimin adına
+ * cevap döndüğü bilinemez. Follower'lar route filtrelerinden (RequestRateLimiter dahil) önce
+ * cevaplanır; upstream'e yük bindirmedikleri için limitlenmezler.
+ */
+public class CoalesceGatewayFilterFactory extends AbstractGatewayFilterFactory<CoalesceGatewayFilterFactory.Config> {
+
+    // body'yi NettyWriteResponseFilter yazar; decorator ondan önce takılmalı
+    private static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    private final CoalesceProperties props;
+    private final Map<Key, Sinks.One<Shared>> inflight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter followers;
+    private final Counter fallbacks;
+    private final Counter bypassed;
+
+    public CoalesceGatewayFilterFactory(CoalesceProperties props, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.props = props;
+        this.leaders = meterRegistry.counter("vidops.gateway.coalesce", "role", "leader");
+        this.followers = meterRegistry.counter("vidops.gateway.coalesce", "role", "follower");
+        this.fallbacks = meterRegistry.counter("vidops.gateway.coalesce", "role", "fallback");
+        this.bypassed = meterRegistry.counter("vidops.gateway.coalesce", "role", "bypass");
+        meterRegistry.gaugeMapSize("vidops.gateway.coalesce.inflight", Tags.empty(), inflight);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter(this::filter, ORDER);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Key key = props.enabled() ? keyOf(exchange) : null;
+        if (key == null || inflight.size() >= props.maxInflight()) {
+            bypassed.increment();
+            return chain.filter(exchange);
+        }
+
+        Sinks.One<Shared> flight = Sinks.one();
+        Sinks.One<Shared> existing = inflight.putIfAbsent(key, flight);
+        if (existing != null) {
+            followers.increment();
+            return existing.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isPresent()) return write(exchange.getResponse(), shared.get());
+                        fallbacks.increment();
+                        return chain.filter(exchange);
+                    });
+        }
+
+        leaders.increment();
+        ServerHttpRequest upstream = exchange.getRequest().mutate()
+                // gateway JSON'u kendisi sıkıştırır; paylaşılan body her istemci için aynı olmalı
+                .headers(h -> h.remove(HttpHeaders.ACCEPT_ENCODING))
+                .build();
+        BodyCapturingResponse response = new BodyCapturingResponse(
+                exchange.getResponse(),
+                props.maxBodyBytes(),
+                this::isShareable,
+                (delegate, body) -> {
+                    Shared shared = new Shared(delegate.getStatusCode(), HttpHeaders.copyOf(delegate.getHeaders()), body);
+                    complete(key, flight, shared);
+                    return write(delegate, shared);
+                });
+
+        return chain.filter(exchange.mutate().request(upstream).response(response).build())
+                // cevap paylaşılmadıysa (akış, hata, iptal) bekleyenler kendi isteklerini yapar
+                .doFinally(signal -> complete(key, flight, null));
+    }
+
+    private void complete(Key key, Sinks.One<Shared> flight, Shared shared) {
+        inflight.remove(key, flight);
+        if (shared != null) {
+            flight.tryEmitValue(shared);
+        } else {
+            flight.tryEmitEmpty();
+        }
+    }
+
+    private Key keyOf(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) return null;
+
+        HttpHeaders headers = request.getHeaders();
+        String subject = exchange.getAttribute(EdgeAuthenticationFilter.SUBJECT_ATTRIBUTE);
+        if (subject == null && (headers.containsHeader(HttpHeaders.AUTHORIZATION) || headers.containsHeader(HttpHeaders.COOKIE))) {
+            return null;
+        }
+        if (headers.containsHeader(HttpHeaders.RANGE)) return null;
+
+        return new Key(
+                subject,
+                request.getPath().value(),
+                request.getURI().getRawQuery(),
+                headers.getFirst(HttpHeaders.ACCEPT),
+                // CORS header'ları leader'ın origin'ine göre yazılmış olur
+                headers.getOrigin()
+        );
+    }
+
+    private boolean isShareable(ServerHttpResponse response) {
+        return response.getStatusCode() != null
+                && !response.getHeaders().containsHeader(HttpHeaders.SET_COOKIE)
+                && BodyCapturingResponse.fitsIn(response, props.maxBodyBytes());
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, Shared shared) {
+        if (response.isCommitted()) return Mono.empty();
+
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (!HttpHeaders.TRANSFER_ENCODING.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private record Key(String subject, String path, String query, String accept, String origin) {
+    }
+
+    private record Shared(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    public static class Config {
+    }
+}
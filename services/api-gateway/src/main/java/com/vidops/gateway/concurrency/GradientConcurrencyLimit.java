@@ -0,0 +1,100 @@
+package com.vidops.gateway.concurrency;
+
+import com.vidops.gateway.config.ConcurrencyLimitProperties;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bir upstream için gradient tabanlı eşzamanlılık limiti.
+ *
+ * Uzun vadeli RTT ortalaması "sağlıklı" gecikmeyi temsil eder. Anlık RTT bunun tolerance katını
+ * aştıkça gradient (longRtt * tolerance / rtt) 1'in altına düşer ve limit küçülür; gecikme normalse
+ * limit sqrt(limit) kadar kuyruk payıyla büyür. Hata/timeout'larda limit backoffRatio ile çarpılır.
+ * Inflight limitin yarısından azken (trafik az) limit büyütülmez, aksi halde boşta şişerdi.
+ *
+ * Kabul kararı kilitsizdir; limit güncellemesi örnek başına kısa bir synchronized blok.
+ */
+public class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final double longAlpha;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile int limit;
+
+    // sadece synchronized update içinde erişilir
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long samples;
+
+    public GradientConcurrencyLimit(ConcurrencyLimitProperties props) {
+        this.minLimit = props.minLimit();
+        this.maxLimit = props.maxLimit();
+        this.smoothing = props.smoothing();
+        this.tolerance = props.tolerance();
+        this.backoffRatio = props.backoffRatio();
+        this.longAlpha = 2.0 / (props.longWindow() + 1);
+        this.estimatedLimit = props.initialLimit();
+        this.limit = props.initialLimit();
+    }
+
+    /**
+     * @param share bu öncelik sınıfının kullanabileceği limit oranı (0..1]
+     * @return kabul edildiyse istek başladığındaki inflight (release'e verilir), reddedildiyse -1
+     */
+    public int tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) return -1;
+            if (inflight.compareAndSet(current, current + 1)) return current + 1;
+        }
+    }
+
+    /**
+     * İstek limiti etkilemeden bitti (ör. istemci bağlantıyı kapattı).
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public void release(int inflightAtStart, long rttNanos, boolean dropped) {
+        inflight.decrementAndGet();
+        update(inflightAtStart, rttNanos, dropped);
+    }
+
+    private synchronized void update(int inflightAtStart, long rttNanos, boolean dropped) {
+        double next;
+        if (dropped) {
+            next = estimatedLimit * backoffRatio;
+        } else {
+            if (rttNanos <= 0) return;
+
+            samples++;
+            longRttNanos = samples == 1 ? rttNanos : longRttNanos + longAlpha * (rttNanos - longRttNanos);
+            // uzun ortalama uzun süre yüksek kaldıysa (geçmiş bir yavaşlama) toparlanmayı hızlandır
+            if (longRttNanos / rttNanos > 2) longRttNanos *= 0.95;
+
+            if (inflightAtStart * 2 < estimatedLimit) return;
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            next = estimatedLimit * (1 - smoothing) + target * smoothing;
+        }
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,17 @@
+package com.vidops.gateway.config;
+
+import com.vidops.gateway.coalesce.CoalesceGatewayFilterFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CoalesceProperties.class)
+public class CoalesceConfig {
+
+    @Bean
+    public CoalesceGatewayFilterFactory coalesceGatewayFilterFactory(CoalesceProperties props, MeterRegistry meterRegistry) {
+        return new CoalesceGatewayFilterFactory(props, meterRegistry);
+    }
+}
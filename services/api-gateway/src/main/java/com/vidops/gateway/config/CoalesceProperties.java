@@ -0,0 +1,21 @@
+package com.vidops.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Coalesce filtresinin sınırları. Filtre route başına açılır (route filters: - Coalesce).
+ * maxInflight farklı key sayısını, maxBodyBytes paylaşılabilecek en büyük cevabı sınırlar;
+ * sınır dışındaki istekler normal şekilde upstream'e gider.
+ */
+@ConfigurationProperties(prefix = "vidops.gateway.coalesce")
+public record CoalesceProperties(
+        Boolean enabled,
+        int maxInflight,
+        int maxBodyBytes
+) {
+    public CoalesceProperties {
+        if (enabled == null) enabled = true;
+        if (maxInflight <= 0) maxInflight = 10_000;
+        if (maxBodyBytes <= 0) maxBodyBytes = 256 * 1024;
+    }
+}
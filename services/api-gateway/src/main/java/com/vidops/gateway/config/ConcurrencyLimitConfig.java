@@ -0,0 +1,19 @@
+package com.vidops.gateway.config;
+
+import com.vidops.gateway.filter.AdaptiveConcurrencyFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "vidops.gateway.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyFilter adaptiveConcurrencyFilter(ConcurrencyLimitProperties props, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyFilter(props, meterRegistry);
+    }
+}
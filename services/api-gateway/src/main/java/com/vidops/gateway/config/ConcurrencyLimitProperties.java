@@ -0,0 +1,63 @@
+package com.vidops.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Route başına gecikmeden öğrenilen eşzamanlılık limiti ve öncelikli yük atma.
+ *
+ * Limit dolmaya yaklaştıkça önce düşük öncelikli istekler 503 ile reddedilir: bir öncelik
+ * sınıfı ancak inflight, limitin shares[priority] oranının altındaysa kabul edilir.
+ * rules sırayla denenir, ilk eşleşen kural önceliği belirler; eşleşme yoksa defaultPriority.
+ */
+@ConfigurationProperties(prefix = "vidops.gateway.concurrency")
+public record ConcurrencyLimitProperties(
+        Boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double smoothing,
+        double tolerance,
+        double backoffRatio,
+        int longWindow,
+        Priority defaultPriority,
+        Map<Priority, Double> shares,
+        List<Rule> rules
+) {
+    public ConcurrencyLimitProperties {
+        if (enabled == null) enabled = true;
+        if (minLimit <= 0) minLimit = 4;
+        if (maxLimit <= 0) maxLimit = 1_000;
+        if (maxLimit < minLimit) maxLimit = minLimit;
+        if (initialLimit <= 0) initialLimit = 50;
+        initialLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        if (smoothing <= 0 || smoothing > 1) smoothing = 0.2;
+        if (tolerance < 1) tolerance = 1.5;
+        if (backoffRatio <= 0 || backoffRatio >= 1) backoffRatio = 0.9;
+        if (longWindow <= 0) longWindow = 600;
+        if (defaultPriority == null) defaultPriority = Priority.NORMAL;
+
+        Map<Priority, Double> s = new EnumMap<>(Priority.class);
+        s.put(Priority.CRITICAL, 1.0);
+        s.put(Priority.HIGH, 0.9);
+        s.put(Priority.NORMAL, 0.8);
+        s.put(Priority.LOW, 0.6);
+        if (shares != null) s.putAll(shares);
+        shares = Map.copyOf(s);
+
+        if (rules == null) rules = List.of();
+    }
+
+    public enum Priority {
+        CRITICAL, HIGH, NORMAL, LOW
+    }
+
+    /**
+     * route ve path'ten verilenlerin hepsi eşleşmeli; path Spring PathPattern sözdizimindedir.
+     */
+    public record Rule(String route, String path, Priority priority) {
+    }
+}
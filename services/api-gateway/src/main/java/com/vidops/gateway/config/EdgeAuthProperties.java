@@ -0,0 +1,18 @@
+package com.vidops.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Gateway'de access token doğrulaması.
+ * internal-key-base64 boşsa servislere kimlik header'ı gönderilmez, servisler token'ı kendileri doğrular.
+ */
+@ConfigurationProperties(prefix = "vidops.security.edge")
+public record EdgeAuthProperties(
+        Boolean enabled,
+        int decoderCacheSize
+) {
+    public EdgeAuthProperties {
+        if (enabled == null) enabled = true;
+        if (decoderCacheSize < 0) decoderCacheSize = 0;
+    }
+}
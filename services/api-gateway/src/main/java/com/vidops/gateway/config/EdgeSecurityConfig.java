@@ -0,0 +1,52 @@
+package com.vidops.gateway.config;
+
+import com.vidops.gateway.filter.EdgeAuthenticationFilter;
+import com.vidops.security.CachingReactiveJwtDecoder;
+import com.vidops.security.InternalIdentityCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Base64;
+
+@Configuration
+@EnableConfigurationProperties(EdgeAuthProperties.class)
+@ConditionalOnProperty(name = "vidops.security.edge.enabled", havingValue = "true", matchIfMissing = true)
+public class EdgeSecurityConfig {
+
+    @Bean
+    public ReactiveJwtDecoder edgeJwtDecoder(
+            @Value("${vidops.security.jwt.secret-base64:}") String secretBase64,
+            EdgeAuthProperties props,
+            MeterRegistry meterRegistry
+    ) {
+        if (secretBase64 == null || secretBase64.isBlank()) {
+            throw new IllegalStateException("vidops.security.jwt.secret-base64 is empty. Set JWT_SECRET_BASE64 in docker-compose/.env");
+        }
+        SecretKey key = new SecretKeySpec(Base64.getDecoder().decode(secretBase64), "HmacSHA256");
+        ReactiveJwtDecoder nimbus = NimbusReactiveJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        return props.decoderCacheSize() > 0
+                ? new CachingReactiveJwtDecoder(nimbus, props.decoderCacheSize(), meterRegistry, "edge")
+                : nimbus;
+    }
+
+    @Bean
+    public EdgeAuthenticationFilter edgeAuthenticationFilter(
+            ReactiveJwtDecoder edgeJwtDecoder,
+            @Value("${vidops.security.internal.key-base64:}") String internalKeyBase64,
+            MeterRegistry meterRegistry
+    ) {
+        InternalIdentityCodec codec = internalKeyBase64 == null || internalKeyBase64.isBlank()
+                ? null
+                : InternalIdentityCodec.fromBase64(internalKeyBase64);
+        return new EdgeAuthenticationFilter(edgeJwtDecoder, codec, meterRegistry);
+    }
+}
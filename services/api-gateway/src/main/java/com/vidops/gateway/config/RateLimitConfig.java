@@ -0,0 +1,43 @@
+package com.vidops.gateway.config;
+
+import com.vidops.gateway.filter.ClientIpHeaderFilter;
+import com.vidops.gateway.ratelimit.ClientAddressResolver;
+import com.vidops.gateway.ratelimit.LocalRateLimiter;
+import com.vidops.gateway.ratelimit.SubjectOrIpKeyResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * RequestRateLimiter filtresi RateLimiter ve KeyResolver bean'leri varsa açılır.
+ * Redis yok; limiter bellekte çalışır ve vidops.gateway.rate-limit.enabled=false ile her isteğe izin verir.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+
+    @Bean
+    public LocalRateLimiter localRateLimiter(RateLimitProperties props,
+                                             ConfigurationService configurationService,
+                                             MeterRegistry meterRegistry) {
+        return new LocalRateLimiter(props, configurationService, meterRegistry);
+    }
+
+    @Bean
+    public ClientAddressResolver clientAddressResolver(GatewayProperties gatewayProperties, RateLimitProperties props) {
+        return new ClientAddressResolver(gatewayProperties.getTrustedProxies(), props.trustedHops());
+    }
+
+    @Bean
+    public SubjectOrIpKeyResolver subjectOrIpKeyResolver(ClientAddressResolver clientAddressResolver) {
+        return new SubjectOrIpKeyResolver(clientAddressResolver);
+    }
+
+    @Bean
+    public ClientIpHeaderFilter clientIpHeaderFilter(ClientAddressResolver clientAddressResolver) {
+        return new ClientIpHeaderFilter(clientAddressResolver);
+    }
+}
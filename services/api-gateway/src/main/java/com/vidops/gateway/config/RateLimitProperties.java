@@ -0,0 +1,25 @@
+package com.vidops.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Gateway'in bellek içi rate limiter'ı. Route başına limitler route'un RequestRateLimiter
+ * argümanlarında (local-rate-limiter.*) tanımlanır; burada sadece ortak ayarlar var.
+ *
+ * trustedHops: spring.cloud.gateway.server.webflux.trusted-proxies tanımlıysa gateway önündeki,
+ * X-Forwarded-For'a ekleme yapan proxy sayısı (ClientAddressResolver).
+ */
+@ConfigurationProperties(prefix = "vidops.gateway.rate-limit")
+public record RateLimitProperties(
+        Boolean enabled,
+        int maxBuckets,
+        int trustedHops,
+        Boolean includeHeaders
+) {
+    public RateLimitProperties {
+        if (enabled == null) enabled = true;
+        if (maxBuckets <= 0) maxBuckets = 100_000;
+        if (trustedHops <= 0) trustedHops = 1;
+        if (includeHeaders == null) includeHeaders = true;
+    }
+}
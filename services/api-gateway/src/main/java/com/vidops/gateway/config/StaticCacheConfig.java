@@ -0,0 +1,18 @@
+package com.vidops.gateway.config;
+
+import com.vidops.gateway.cache.StaticAssetCacheGatewayFilterFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StaticCacheProperties.class)
+public class StaticCacheConfig {
+
+    @Bean
+    public StaticAssetCacheGatewayFilterFactory staticAssetCacheGatewayFilterFactory(StaticCacheProperties props,
+                                                                                     MeterRegistry meterRegistry) {
+        return new StaticAssetCacheGatewayFilterFactory(props, meterRegistry);
+    }
+}
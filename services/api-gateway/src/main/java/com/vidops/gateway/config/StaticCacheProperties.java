@@ -0,0 +1,46 @@
+package com.vidops.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * frontend route'undaki statik dosya cache'i (StaticAssetCache filtresi).
+ *
+ * hashedPattern'e uyan dosyalar (Vite'ın index-[hash].js çıktıları) içerik adreslidir:
+ * Content-Type uzantıya uyuyorsa cache'ten düşene kadar tutulur ve istemciye immutable olarak
+ * verilir. Hash'siz dosyalardan sadece documentPaths (index.html) cache'lenir; ttl kadar tutulur
+ * ve istemci her seferinde ETag ile doğrular. nginx SPA fallback'i (try_files ... /index.html)
+ * her bilinmeyen path'e 200 + index.html döndüğü için diğer path'ler cache'e alınmaz.
+ */
+@ConfigurationProperties(prefix = "vidops.gateway.static-cache")
+public record StaticCacheProperties(
+        Boolean enabled,
+        long maxBytes,
+        int maxEntryBytes,
+        Duration ttl,
+        String hashedPattern,
+        int minCompressBytes,
+        List<String> compressibleTypes,
+        List<String> documentPaths
+) {
+    public StaticCacheProperties {
+        if (enabled == null) enabled = true;
+        if (maxBytes <= 0) maxBytes = 64L * 1024 * 1024;
+        if (maxEntryBytes <= 0) maxEntryBytes = 2 * 1024 * 1024;
+        if (ttl == null) ttl = Duration.ofSeconds(30);
+        if (hashedPattern == null || hashedPattern.isBlank()) {
+            hashedPattern = ".*[.-][A-Za-z0-9_-]{8,}\\.(js|mjs|css|woff2?|ttf|svg|png|jpe?g|gif|webp|avif|ico|wasm)$";
+        }
+        if (minCompressBytes <= 0) minCompressBytes = 1024;
+        if (compressibleTypes == null || compressibleTypes.isEmpty()) {
+            compressibleTypes = List.of(
+                    "text/", "application/javascript", "application/json", "application/manifest+json",
+                    "application/xml", "image/svg+xml", "application/wasm");
+        }
+        if (documentPaths == null || documentPaths.isEmpty()) {
+            documentPaths = List.of("/", "/index.html");
+        }
+    }
+}
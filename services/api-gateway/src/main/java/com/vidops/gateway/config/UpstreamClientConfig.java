@@ -0,0 +1,72 @@
+package com.vidops.gateway.config;
+
+import com.vidops.gateway.upstream.UpstreamHttpClientFactory;
+import com.vidops.gateway.upstream.UpstreamRoutingFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.server.autoconfigure.ServerProperties;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * SCG'nin HttpClientFactory'si ConditionalOnMissingBean olduğu için buradaki factory onun yerine geçer.
+ * Routing filtresi (ve ona bağlı response yazma filtresi) ise koşulsuz tanımlandığından
+ * application.yml'de kapatılır ve burada yeniden tanımlanır;
+ * SCG'ninki tekrar açılırsa bu filtre tanımlanmaz, istek iki kez route edilmez.
+ */
+@Configuration
+@EnableConfigurationProperties(UpstreamProperties.class)
+public class UpstreamClientConfig {
+
+    @Bean
+    public HttpClientFactory gatewayHttpClientFactory(HttpClientProperties properties,
+                                                      ServerProperties serverProperties,
+                                                      List<HttpClientCustomizer> customizers,
+                                                      HttpClientSslConfigurer sslConfigurer,
+                                                      GatewayProperties gatewayProperties,
+                                                      UpstreamProperties upstreamProperties) {
+        Map<String, URI> routeUris = gatewayProperties.getRoutes().stream()
+                .collect(Collectors.toMap(RouteDefinition::getId, RouteDefinition::getUri, (a, b) -> a));
+        return new UpstreamHttpClientFactory(properties, serverProperties, sslConfigurer, customizers,
+                upstreamProperties, routeUris);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cloud.gateway.server.webflux.global-filter.netty-routing.enabled", havingValue = "false")
+    public UpstreamRoutingFilter upstreamRoutingFilter(HttpClient httpClient,
+                                                       ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                       HttpClientProperties properties,
+                                                       UpstreamProperties upstreamProperties) {
+        Set<String> h2cRoutes = upstreamProperties.upstreams().entrySet().stream()
+                .filter(e -> e.getValue().h2c())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+        return new UpstreamRoutingFilter(httpClient, headersFilters, properties, h2cRoutes);
+    }
+
+    /**
+     * SCG bunu netty-routing ile birlikte kapatır; upstream response body'sini istemciye o yazar.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cloud.gateway.server.webflux.global-filter.netty-routing.enabled", havingValue = "false")
+    public NettyWriteResponseFilter upstreamWriteResponseFilter(GatewayProperties gatewayProperties,
+                                                                ObjectProvider<List<HttpHeadersFilter>> headersFilters) {
+        return new NettyWriteResponseFilter(gatewayProperties.getStreamingMediaTypes(), headersFilters);
+    }
+}
@@ -0,0 +1,39 @@
+package com.vidops.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Route başına upstream bağlantı havuzu ayarları; key route id'sidir.
+ * Verilmeyen alanlar spring.cloud.gateway.server.webflux.httpclient.pool.* değerlerini kullanır.
+ * Timeout'lar route'un metadata'sındaki response-timeout/connect-timeout ile verilir.
+ */
+@ConfigurationProperties(prefix = "vidops.gateway")
+public record UpstreamProperties(
+        Map<String, Upstream> upstreams
+) {
+    public UpstreamProperties {
+        if (upstreams == null) upstreams = Map.of();
+    }
+
+    /**
+     * h2c: upstream'e prior-knowledge HTTP/2 (TLS'siz) ile gidilir; upstream'de
+     * server.http2.enabled=true olmalıdır. Tek bağlantı üzerinde çok sayıda stream taşındığı için
+     * maxConnections burada çok daha küçük tutulabilir.
+     */
+    public record Upstream(
+            Integer maxConnections,
+            Duration pendingAcquireTimeout,
+            Integer pendingAcquireMaxCount,
+            Duration maxIdleTime,
+            Duration maxLifeTime,
+            Duration evictionInterval,
+            Boolean h2c
+    ) {
+        public Upstream {
+            if (h2c == null) h2c = false;
+        }
+    }
+}
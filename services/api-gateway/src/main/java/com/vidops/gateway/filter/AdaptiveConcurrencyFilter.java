@@ -0,0 +1,152 @@
+package com.vidops.gateway.filter;
+
+import com.vidops.gateway.concurrency.GradientConcurrencyLimit;
+import com.vidops.gateway.config.ConcurrencyLimitProperties;
+import com.vidops.gateway.config.ConcurrencyLimitProperties.Priority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Her route'un upstream'i için gecikmeden öğrenilen bir eşzamanlılık limiti uygular.
+ *
+ * Limit dolduğunda istek upstream'e gitmeden 503 + Retry-After alır; düşük öncelikli istekler
+ * limitin daha küçük bir payını kullanabildiği için (shares) önce onlar atılır. Böylece
+ * auth-service yavaşladığında refresh ve statik dosyalar, login ve register'dan önce düşmez.
+ *
+ * Gecikme, upstream response header'ları gelene kadar ölçülür (body aktarımı dahil değil):
+ * NettyRoutingFilter'ın Mono'su o anda tamamlanır. 5xx gateway hataları ve exception'lar
+ * limiti düşürür, istemcinin iptal ettiği istekler örnek sayılmaz.
+ */
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    // route filtrelerinden (RequestRateLimiter dahil, order 1..n) sonra, routing'den önce
+    public static final int ORDER = 1_000;
+
+    private final ConcurrencyLimitProperties props;
+    private final MeterRegistry meterRegistry;
+    private final List<CompiledRule> rules;
+    private final Map<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(ConcurrencyLimitProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.rules = props.rules().stream()
+                .map(r -> new CompiledRule(
+                        r.route(),
+                        r.path() == null || r.path().isBlank() ? null : PathPatternParser.defaultInstance.parse(r.path()),
+                        r.priority() == null ? props.defaultPriority() : r.priority()))
+                .toList();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return chain.filter(exchange);
+        }
+
+        RouteLimit routeLimit = limits.computeIfAbsent(route.getId(), this::newRouteLimit);
+        Priority priority = priorityOf(route.getId(), exchange);
+
+        int inflightAtStart = routeLimit.limit.tryAcquire(props.shares().get(priority));
+        if (inflightAtStart < 0) {
+            routeLimit.rejected.get(priority).increment();
+            return reject(exchange.getResponse());
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    if (signal == SignalType.CANCEL) {
+                        routeLimit.limit.release();
+                        return;
+                    }
+                    boolean dropped = signal == SignalType.ON_ERROR || isOverloadStatus(exchange.getResponse().getStatusCode());
+                    routeLimit.limit.release(inflightAtStart, System.nanoTime() - start, dropped);
+                });
+    }
+
+    private Priority priorityOf(String routeId, ServerWebExchange exchange) {
+        PathContainer path = null;
+        for (CompiledRule rule : rules) {
+            if (rule.route != null && !rule.route.equals(routeId)) continue;
+            if (rule.path != null) {
+                if (path == null) path = exchange.getRequest().getPath().pathWithinApplication();
+                if (!rule.path.matches(path)) continue;
+            }
+            return rule.priority;
+        }
+        return props.defaultPriority();
+    }
+
+    private static boolean isOverloadStatus(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    private RouteLimit newRouteLimit(String routeId) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(props);
+        Gauge.builder("vidops.gateway.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("vidops.gateway.concurrency.inflight", limit, GradientConcurrencyLimit::inflight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+        for (Priority p : Priority.values()) {
+            rejected.put(p, meterRegistry.counter("vidops.gateway.concurrency.rejected",
+                    "route", routeId, "priority", p.name().toLowerCase(Locale.ROOT)));
+        }
+        return new RouteLimit(limit, rejected);
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        String body = "{\"timestamp\":\"" + Instant.now() + "\","
+                + "\"status\":503,"
+                + "\"error\":\"overloaded\","
+                + "\"message\":\"Servis şu anda yoğun. Lütfen biraz sonra tekrar dene.\"}";
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    private record CompiledRule(String route, PathPattern path, Priority priority) {
+    }
+
+    private record RouteLimit(GradientConcurrencyLimit limit, Map<Priority, Counter> rejected) {
+    }
+}
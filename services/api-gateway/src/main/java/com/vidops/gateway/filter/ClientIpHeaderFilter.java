@@ -0,0 +1,42 @@
+package com.vidops.gateway.filter;
+
+import com.vidops.gateway.ratelimit.ClientAddressResolver;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Servislere istemci IP'sini gateway'in kendi çözdüğü değerle X-Vidops-Client-Ip olarak iletir
+ * (auth-service'in IP bazlı rate limit'i bunu kullanır). İstemciden gelen aynı isimli header
+ * her durumda silinir; X-Forwarded-For'a servisler güvenmemelidir.
+ */
+public class ClientIpHeaderFilter implements GlobalFilter, Ordered {
+
+    public static final String HEADER = "X-Vidops-Client-Ip";
+
+    private final ClientAddressResolver resolver;
+
+    public ClientIpHeaderFilter(ClientAddressResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 90;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        String ip = resolver.resolve(exchange);
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(h -> {
+                    h.remove(HEADER);
+                    if (ip != null) h.set(HEADER, ip);
+                })
+                .build();
+        return chain.filter(exchange.mutate().request(request).build());
+    }
+}
@@ -0,0 +1,128 @@
+package com.vidops.gateway.filter;
+
+import com.vidops.security.InternalIdentity;
+import com.vidops.security.InternalIdentityCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bearer token'ı gateway'de bir kez doğrular.
+ * Geçersiz token servislere hiç gitmeden 401 alır; geçerliyse subject exchange attribute'una
+ * yazılır ve internal key tanımlıysa servislere imzalı X-Vidops-Identity header'ı eklenir.
+ * İstemciden gelen X-Vidops-Identity her durumda silinir.
+ */
+public class EdgeAuthenticationFilter implements GlobalFilter, Ordered {
+
+    public static final String SUBJECT_ATTRIBUTE = "vidops.subject";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final ReactiveJwtDecoder decoder;
+    private final InternalIdentityCodec identityCodec;
+
+    private final Counter valid;
+    private final Counter invalid;
+    private final Counter anonymous;
+
+    public EdgeAuthenticationFilter(ReactiveJwtDecoder decoder, InternalIdentityCodec identityCodec, MeterRegistry meterRegistry) {
+        this.decoder = decoder;
+        this.identityCodec = identityCodec;
+        this.valid = meterRegistry.counter("vidops.gateway.auth", "outcome", "valid");
+        this.invalid = meterRegistry.counter("vidops.gateway.auth", "outcome", "invalid");
+        this.anonymous = meterRegistry.counter("vidops.gateway.auth", "outcome", "anonymous");
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 100;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authorization == null || !authorization.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            anonymous.increment();
+            return chain.filter(withIdentity(exchange, null));
+        }
+
+        String token = authorization.substring(BEARER_PREFIX.length()).trim();
+        return Mono.defer(() -> decoder.decode(token))
+                .map(Optional::of)
+                .onErrorResume(JwtException.class, e -> Mono.just(Optional.empty()))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(jwt -> {
+                    if (jwt.isEmpty()) {
+                        invalid.increment();
+                        return reject(exchange.getResponse());
+                    }
+                    valid.increment();
+                    exchange.getAttributes().put(SUBJECT_ATTRIBUTE, jwt.get().getSubject());
+                    return chain.filter(withIdentity(exchange, jwt.get()));
+                });
+    }
+
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, Jwt jwt) {
+        String identity = jwt == null ? null : signIdentity(jwt);
+        boolean spoofed = exchange.getRequest().getHeaders().getFirst(InternalIdentityCodec.HEADER) != null;
+        if (identity == null && !spoofed) return exchange;
+
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(h -> {
+                    h.remove(InternalIdentityCodec.HEADER);
+                    if (identity != null) h.set(InternalIdentityCodec.HEADER, identity);
+                })
+                .build();
+        return exchange.mutate().request(request).build();
+    }
+
+    private String signIdentity(Jwt jwt) {
+        if (identityCodec == null || jwt.getExpiresAt() == null) return null;
+
+        UUID userId;
+        try {
+            userId = UUID.fromString(jwt.getSubject());
+        } catch (RuntimeException e) {
+            return null;
+        }
+        return identityCodec.encode(new InternalIdentity(
+                userId,
+                jwt.getClaimAsString("email"),
+                jwt.getClaimAsString("roles"),
+                jwt.getExpiresAt()
+        ));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        String body = "{\"timestamp\":\"" + Instant.now() + "\","
+                + "\"status\":401,"
+                + "\"error\":\"invalid_token\","
+                + "\"message\":\"Oturum geçersiz veya süresi dolmuş.\"}";
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
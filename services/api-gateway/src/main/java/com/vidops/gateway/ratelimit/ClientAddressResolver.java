@@ -0,0 +1,51 @@
+package com.vidops.gateway.ratelimit;
+
+import org.springframework.cloud.gateway.filter.headers.TrustedProxies;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+/**
+ * İsteği yapan istemcinin IP'si.
+ *
+ * Bağlantı trusted-proxies'e (spring.cloud.gateway.server.webflux.trusted-proxies) uyan bir
+ * proxy'den geliyorsa X-Forwarded-For'un sağdan trustedHops'uncu değeri alınır: gateway önündeki
+ * her proxy gördüğü adresi sona ekler, daha soldaki değerler istemci tarafından uydurulabilir.
+ * Bağlantı güvenilir bir proxy'den gelmiyorsa (ör. gateway'e doğrudan erişen istemci) header
+ * yok sayılır ve bağlantının adresi kullanılır.
+ *
+ * trustedHops kuruluma göre verilir: compose'da frontend nginx -> gateway için 1, k8s'te
+ * ingress -> frontend nginx -> gateway için 2.
+ */
+public class ClientAddressResolver {
+
+    private final TrustedProxies trustedProxies;
+    private final RemoteAddressResolver forwarded;
+
+    /**
+     * @param trustedProxies boşsa önde proxy olmadığı varsayılır
+     */
+    public ClientAddressResolver(String trustedProxies, int trustedHops) {
+        this.trustedProxies = trustedProxies == null || trustedProxies.isBlank() ? null : TrustedProxies.from(trustedProxies);
+        this.forwarded = XForwardedRemoteAddressResolver.maxTrustedIndex(trustedHops);
+    }
+
+    /**
+     * @return adres bilinmiyorsa null
+     */
+    public String resolve(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) return null;
+
+        InetSocketAddress client = trustedProxies != null && trustedProxies.isTrusted(host(remote))
+                ? forwarded.resolve(exchange)
+                : remote;
+        return client == null ? null : host(client);
+    }
+
+    private static String host(InetSocketAddress address) {
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
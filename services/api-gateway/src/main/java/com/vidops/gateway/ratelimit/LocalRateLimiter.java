@@ -0,0 +1,191 @@
+package com.vidops.gateway.ratelimit;
+
+import com.vidops.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis gerektirmeyen, bellek içi RequestRateLimiter implementasyonu.
+ *
+ * Her (route, key) için tek bir long tutulur: GCRA'daki "theoretical arrival time" (TAT).
+ * Token bucket ile aynı sonucu verir (replenishRate/sn hız, burstCapacity kadar ani istek)
+ * ama durum tek bir CAS ile güncellenir, kilit yoktur. TAT'i geçmişte kalan bucket tamamen
+ * dolmuş demektir; maxBuckets'a ulaşılınca bunlar silinir. Silinecek bucket kalmadıysa yeni
+ * key'ler saklanmadan (tam dolu bucket gibi) değerlendirilir, bellek sınırı aşılmaz.
+ *
+ * Limitler her replica'da ayrı tutulur; N replica'lı bir kurulumda efektif limit N katıdır.
+ */
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties props;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Map<String, RouteMeters> metersByRoute = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final Counter overflow;
+
+    public LocalRateLimiter(RateLimitProperties props, ConfigurationService configurationService, MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.props = props;
+        this.meterRegistry = meterRegistry;
+        this.overflow = meterRegistry.counter("vidops.gateway.ratelimit.overflow");
+        meterRegistry.gaugeMapSize("vidops.gateway.ratelimit.buckets", Tags.empty(), buckets);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        if (!props.enabled()) {
+            return Mono.just(new Response(true, Map.of()));
+        }
+
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            throw new IllegalArgumentException("No Configuration found for route " + routeId);
+        }
+        if (config.replenishRate <= 0 || config.burstCapacity <= 0 || config.requestedTokens <= 0) {
+            throw new IllegalArgumentException("local-rate-limiter values must be positive for route " + routeId);
+        }
+
+        Decision d = acquire(routeId + '|' + id, config, System.nanoTime());
+        RouteMeters meters = metersByRoute.computeIfAbsent(routeId, this::metersFor);
+        (d.allowed ? meters.allowed : meters.rejected).increment();
+
+        return Mono.just(new Response(d.allowed, headers(config, d)));
+    }
+
+    Decision acquire(String key, Config config, long now) {
+        // emission interval: bir token'ın dolma süresi; tolerance: dolu bucket'ın karşılığı
+        long interval = Math.max(1, NANOS_PER_SECOND / config.replenishRate);
+        long tolerance = interval * config.burstCapacity;
+        long cost = interval * config.requestedTokens;
+
+        AtomicLong bucket = bucketFor(key, now);
+        while (true) {
+            long tat = bucket.get();
+            long base = tat - now > 0 ? tat : now;
+            long newTat = base + cost;
+            long debt = newTat - now;
+
+            if (debt > tolerance) {
+                long remaining = Math.max(0, (tolerance - (base - now)) / interval);
+                return new Decision(false, remaining, debt - tolerance);
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return new Decision(true, (tolerance - debt) / interval, 0);
+            }
+        }
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) return bucket;
+
+        if (buckets.size() >= props.maxBuckets()) {
+            sweep(now);
+            if (buckets.size() >= props.maxBuckets()) {
+                overflow.increment();
+                return new AtomicLong(now);
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * TAT'i geçmişte kalan bucket'lar dolu bucket'tan farksızdır; silmek limiti değiştirmez.
+     * Aynı anda tek thread süpürür, diğerleri beklemeden devam eder.
+     */
+    private void sweep(long now) {
+        if (!sweeping.compareAndSet(false, true)) return;
+        try {
+            buckets.values().removeIf(b -> b.get() - now <= 0);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private Map<String, String> headers(Config config, Decision d) {
+        Map<String, String> headers = new HashMap<>();
+        if (props.includeHeaders()) {
+            headers.put(REMAINING_HEADER, String.valueOf(d.remaining));
+            headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.replenishRate));
+            headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.burstCapacity));
+            headers.put(REQUESTED_TOKENS_HEADER, String.valueOf(config.requestedTokens));
+        }
+        if (!d.allowed) {
+            long seconds = TimeUnit.NANOSECONDS.toSeconds(d.waitNanos + NANOS_PER_SECOND - 1);
+            headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, seconds)));
+        }
+        return headers;
+    }
+
+    private RouteMeters metersFor(String routeId) {
+        return new RouteMeters(
+                meterRegistry.counter("vidops.gateway.ratelimit", "route", routeId, "outcome", "allowed"),
+                meterRegistry.counter("vidops.gateway.ratelimit", "route", routeId, "outcome", "rejected")
+        );
+    }
+
+    record Decision(boolean allowed, long remaining, long waitNanos) {
+    }
+
+    private record RouteMeters(Counter allowed, Counter rejected) {
+    }
+
+    /**
+     * Route argümanları: local-rate-limiter.replenish-rate, burst-capacity, requested-tokens.
+     */
+    public static class Config {
+
+        private int replenishRate;
+        private int burstCapacity;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
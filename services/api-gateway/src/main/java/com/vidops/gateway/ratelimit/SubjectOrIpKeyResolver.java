@@ -0,0 +1,29 @@
+package com.vidops.gateway.ratelimit;
+
+import com.vidops.gateway.filter.EdgeAuthenticationFilter;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token'ı doğrulanmış isteklerde kullanıcı id'si, anonim isteklerde istemci IP'si ile limitler.
+ * Subject'i EdgeAuthenticationFilter yazar; edge doğrulaması kapalıysa her istek IP ile limitlenir.
+ * IP, proxy arkasında proxy'nin değil istemcinin adresidir (ClientAddressResolver).
+ */
+public class SubjectOrIpKeyResolver implements KeyResolver {
+
+    private final ClientAddressResolver clientAddress;
+
+    public SubjectOrIpKeyResolver(ClientAddressResolver clientAddress) {
+        this.clientAddress = clientAddress;
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        String subject = exchange.getAttribute(EdgeAuthenticationFilter.SUBJECT_ATTRIBUTE);
+        if (subject != null) return Mono.just("user:" + subject);
+
+        String ip = clientAddress.resolve(exchange);
+        return ip == null ? Mono.empty() : Mono.just("ip:" + ip);
+    }
+}
@@ -0,0 +1,70 @@
+package com.vidops.gateway.support;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Upstream response body'sini istemciye yazmadan önce belleğe toplar.
+ *
+ * capture, ilk yazımda (status ve header'lar belli iken) body'nin toplanıp toplanmayacağına karar
+ * verir; false ise body olduğu gibi akar. Toplanan byte'lar handler'a verilir, istemciye ne
+ * yazılacağına handler karar verir (delegate üzerinden).
+ *
+ * Body'yi NettyWriteResponseFilter yazdığı için bu decorator'ı kuran filtre ondan önce
+ * (order < {@code NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER}) çalışmalıdır.
+ */
+public class BodyCapturingResponse extends ServerHttpResponseDecorator {
+
+    private final int maxBytes;
+    private final Predicate<ServerHttpResponse> capture;
+    private final BiFunction<ServerHttpResponse, byte[], Mono<Void>> handler;
+
+    public BodyCapturingResponse(ServerHttpResponse delegate,
+                                 int maxBytes,
+                                 Predicate<ServerHttpResponse> capture,
+                                 BiFunction<ServerHttpResponse, byte[], Mono<Void>> handler) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.capture = capture;
+        this.handler = handler;
+    }
+
+    /**
+     * Sadece Content-Length'i bilinen ve limit altındaki body'ler toplanabilir;
+     * chunked bir body'yi yarıda bırakıp akışa geri dönmek mümkün değil.
+     */
+    public static boolean fitsIn(ServerHttpResponse response, int maxBytes) {
+        long length = response.getHeaders().getContentLength();
+        return length >= 0 && length <= maxBytes;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        ServerHttpResponse delegate = getDelegate();
+        if (!capture.test(delegate)) {
+            return super.writeWith(body);
+        }
+        return DataBufferUtils.join(body, maxBytes)
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .defaultIfEmpty(new byte[0])
+                .flatMap(bytes -> handler.apply(delegate, bytes));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(p -> p));
+    }
+}
@@ -0,0 +1,107 @@
+package com.vidops.gateway.upstream;
+
+import com.vidops.gateway.config.UpstreamProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.server.autoconfigure.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gateway'in HttpClient'ını SCG ile aynı şekilde kurar; tek fark bağlantı havuzu:
+ * global havuz ayarlarının üstüne her upstream için (route URI'sinin host:port'u)
+ * ayrı maxConnections/pending/idle ayarları eklenir. Böylece yavaş bir upstream'in
+ * bağlantıları ve bekleyen istekleri diğer route'ların havuzunu tüketmez.
+ *
+ * Havuz metrikleri (active/idle/pending bağlantılar, acquire süresi) Reactor Netty tarafından
+ * reactor.netty.connection.provider.* adıyla ve remote.address tag'iyle yayınlanır.
+ */
+public class UpstreamHttpClientFactory extends HttpClientFactory {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamHttpClientFactory.class);
+
+    private final UpstreamProperties upstreamProperties;
+    private final Map<String, URI> routeUris;
+
+    public UpstreamHttpClientFactory(HttpClientProperties properties,
+                                     ServerProperties serverProperties,
+                                     HttpClientSslConfigurer sslConfigurer,
+                                     List<HttpClientCustomizer> customizers,
+                                     UpstreamProperties upstreamProperties,
+                                     Map<String, URI> routeUris) {
+        super(properties, serverProperties, sslConfigurer, customizers);
+        this.upstreamProperties = upstreamProperties;
+        this.routeUris = routeUris;
+    }
+
+    @Override
+    protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+        HttpClientProperties.Pool pool = properties.getPool();
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.DISABLED) {
+            return ConnectionProvider.newConnection();
+        }
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(pool.getName());
+        if (pool.getType() == HttpClientProperties.Pool.PoolType.FIXED) {
+            builder.maxConnections(pool.getMaxConnections())
+                    .pendingAcquireMaxCount(-1)
+                    .pendingAcquireTimeout(Duration.ofMillis(pool.getAcquireTimeout()));
+        } else {
+            builder.maxConnections(Integer.MAX_VALUE)
+                    .pendingAcquireTimeout(Duration.ofMillis(0))
+                    .pendingAcquireMaxCount(-1);
+        }
+        if (pool.getMaxIdleTime() != null) builder.maxIdleTime(pool.getMaxIdleTime());
+        if (pool.getMaxLifeTime() != null) builder.maxLifeTime(pool.getMaxLifeTime());
+        builder.evictInBackground(pool.getEvictionInterval());
+        builder.metrics(pool.isMetrics());
+        if (pool.getLeasingStrategy() == HttpClientProperties.Pool.LeasingStrategy.LIFO) {
+            builder.lifo();
+        } else {
+            builder.fifo();
+        }
+
+        Set<InetSocketAddress> configured = new HashSet<>();
+        upstreamProperties.upstreams().forEach((routeId, upstream) -> {
+            InetSocketAddress address = remoteAddress(routeId);
+            if (!configured.add(address)) {
+                // aynı host:port'a giden route'lar tek havuzu paylaşır; ilk tanım geçerli
+                log.warn("Upstream pool for {} already configured, ignoring settings of route {}", address, routeId);
+                return;
+            }
+            builder.forRemoteHost(address, spec -> {
+                if (upstream.maxConnections() != null) spec.maxConnections(upstream.maxConnections());
+                if (upstream.pendingAcquireTimeout() != null) spec.pendingAcquireTimeout(upstream.pendingAcquireTimeout());
+                if (upstream.pendingAcquireMaxCount() != null) spec.pendingAcquireMaxCount(upstream.pendingAcquireMaxCount());
+                if (upstream.maxIdleTime() != null) spec.maxIdleTime(upstream.maxIdleTime());
+                if (upstream.maxLifeTime() != null) spec.maxLifeTime(upstream.maxLifeTime());
+                if (upstream.evictionInterval() != null) spec.evictInBackground(upstream.evictionInterval());
+                spec.metrics(pool.isMetrics());
+            });
+        });
+        return builder.build();
+    }
+
+    /**
+     * Reactor Netty havuzları unresolved host:port ile anahtarlar; route URI'sinden aynısı üretilir.
+     */
+    private InetSocketAddress remoteAddress(String routeId) {
+        URI uri = routeUris.get(routeId);
+        if (uri == null || uri.getHost() == null) {
+            throw new IllegalStateException("vidops.gateway.upstreams." + routeId + " does not match a route with an http(s) uri");
+        }
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return InetSocketAddress.createUnresolved(uri.getHost(), port);
+    }
+}
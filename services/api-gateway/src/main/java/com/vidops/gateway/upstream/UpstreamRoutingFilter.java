@@ -0,0 +1,38 @@
+package com.vidops.gateway.upstream;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * NettyRoutingFilter'ın yerine geçer; h2c işaretli route'lara prior-knowledge HTTP/2 ile gider.
+ * SCG'nin routing filtresi tek bir HttpClient kullandığı için protokol route başına seçilemiyor;
+ * bu yüzden otomatik tanımlı filtre kapatılır (global-filter.netty-routing.enabled=false).
+ * connect-timeout/response-timeout metadata'sı ve geri kalan her şey üst sınıfta kalır.
+ */
+public class UpstreamRoutingFilter extends NettyRoutingFilter {
+
+    private final Set<String> h2cRoutes;
+
+    public UpstreamRoutingFilter(HttpClient httpClient,
+                                 ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                 HttpClientProperties properties,
+                                 Set<String> h2cRoutes) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.h2cRoutes = h2cRoutes;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        HttpClient client = super.getHttpClient(route, exchange);
+        return h2cRoutes.contains(route.getId()) ? client.protocol(HttpProtocol.H2C) : client;
+    }
+}
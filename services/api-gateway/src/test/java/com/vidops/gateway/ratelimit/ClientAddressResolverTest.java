@@ -0,0 +1,47 @@
+package com.vidops.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientAddressResolverTest {
+
+    private static final String NGINX = "10.1.2.3";
+
+    @Test
+    void ignoresForwardedForWithoutTrustedProxies() {
+        ClientAddressResolver resolver = new ClientAddressResolver("", 1);
+
+        assertThat(resolver.resolve(exchange(NGINX, "6.6.6.6"))).isEqualTo(NGINX);
+    }
+
+    @Test
+    void ignoresForwardedForFromUntrustedConnection() {
+        ClientAddressResolver resolver = new ClientAddressResolver("10\\.1\\.2\\.3", 1);
+
+        // gateway'e doğrudan gelen istemci header'ı uyduruyor
+        assertThat(resolver.resolve(exchange("203.0.113.7", "6.6.6.6"))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void takesEntryAppendedByOutermostTrustedHop() {
+        ClientAddressResolver oneHop = new ClientAddressResolver("10\\.1\\.2\\.3", 1);
+        ClientAddressResolver twoHops = new ClientAddressResolver("10\\.1\\.2\\.3", 2);
+
+        // istemci 6.6.6.6 uydurdu; ingress gerçek istemciyi (198.51.100.4), nginx ingress'i (10.0.0.9) ekledi
+        MockServerWebExchange exchange = exchange(NGINX, "6.6.6.6, 198.51.100.4, 10.0.0.9");
+
+        assertThat(oneHop.resolve(exchange)).isEqualTo("10.0.0.9");
+        assertThat(twoHops.resolve(exchange)).isEqualTo("198.51.100.4");
+    }
+
+    private static MockServerWebExchange exchange(String remote, String forwardedFor) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post("/api/auth/login")
+                .remoteAddress(new InetSocketAddress(remote, 43210))
+                .header("X-Forwarded-For", forwardedFor));
+    }
+}
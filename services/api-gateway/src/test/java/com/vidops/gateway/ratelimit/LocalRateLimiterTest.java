@@ -0,0 +1,103 @@
+package com.vidops.gateway.ratelimit;
+
+import com.vidops.gateway.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class LocalRateLimiterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long T0 = 1_000_000 * MS;
+
+    // 10 token/sn, 5'lik burst
+    private final LocalRateLimiter.Config config = new LocalRateLimiter.Config()
+            .setReplenishRate(10)
+            .setBurstCapacity(5);
+
+    @Test
+    void allowsBurstThenRejectsUntilNextToken() {
+        LocalRateLimiter limiter = limiter(100_000);
+
+        for (int i = 4; i >= 0; i--) {
+            LocalRateLimiter.Decision d = limiter.acquire("k", config, T0);
+            assertThat(d.allowed()).isTrue();
+            assertThat(d.remaining()).isEqualTo(i);
+        }
+
+        LocalRateLimiter.Decision rejected = limiter.acquire("k", config, T0);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.waitNanos()).isEqualTo(100 * MS);
+
+        assertThat(limiter.acquire("k", config, T0 + 99 * MS).allowed()).isFalse();
+        assertThat(limiter.acquire("k", config, T0 + 100 * MS).allowed()).isTrue();
+        assertThat(limiter.acquire("k", config, T0 + 100 * MS).allowed()).isFalse();
+    }
+
+    @Test
+    void idleBucketRefillsOnlyUpToBurstCapacity() {
+        LocalRateLimiter limiter = limiter(100_000);
+        limiter.acquire("k", config, T0);
+
+        long later = T0 + TimeUnit.MINUTES.toNanos(10);
+        int allowed = 0;
+        while (limiter.acquire("k", config, later).allowed()) allowed++;
+
+        assertThat(allowed).isEqualTo(5);
+    }
+
+    @Test
+    void requestedTokensAreChargedTogether() {
+        LocalRateLimiter limiter = limiter(100_000);
+        LocalRateLimiter.Config heavy = new LocalRateLimiter.Config()
+                .setReplenishRate(10)
+                .setBurstCapacity(5)
+                .setRequestedTokens(2);
+
+        assertThat(limiter.acquire("k", heavy, T0).remaining()).isEqualTo(3);
+        assertThat(limiter.acquire("k", heavy, T0).remaining()).isEqualTo(1);
+
+        LocalRateLimiter.Decision rejected = limiter.acquire("k", heavy, T0);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isEqualTo(1);
+        assertThat(rejected.waitNanos()).isEqualTo(100 * MS);
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+        LocalRateLimiter limiter = limiter(100_000);
+        for (int i = 0; i < 5; i++) limiter.acquire("a", config, T0);
+
+        assertThat(limiter.acquire("a", config, T0).allowed()).isFalse();
+        assertThat(limiter.acquire("b", config, T0).allowed()).isTrue();
+    }
+
+    @Test
+    void fullTableSweepsRefilledBucketsAndOtherwiseDoesNotStoreNewKeys() {
+        LocalRateLimiter limiter = limiter(1);
+        for (int i = 0; i < 5; i++) limiter.acquire("a", config, T0);
+
+        // "a" hâlâ borçlu: silinemez, "b" saklanmadan dolu bucket gibi değerlendirilir
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.acquire("b", config, T0).allowed()).isTrue();
+        }
+
+        // "a" dolduktan sonra süpürülür, "b" artık saklanır ve limitlenir
+        long later = T0 + TimeUnit.SECONDS.toNanos(1);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.acquire("b", config, later).allowed()).isTrue();
+        }
+        assertThat(limiter.acquire("b", config, later).allowed()).isFalse();
+    }
+
+    private static LocalRateLimiter limiter(int maxBuckets) {
+        return new LocalRateLimiter(new RateLimitProperties(true, maxBuckets, 1, true),
+                mock(ConfigurationService.class), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,73 @@
+package com.vidops.auth.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Work factor'ü startup'ta bu makinede ölçülen süreye göre seçilen BCrypt encoder.
+ * Sadece stored hash'in cost'u düşükse upgrade gerekli sayılır; replikalar farklı cost'a
+ * kalibre olursa hash'ler node'lar arasında gidip gelmesin diye daha yüksek cost'lu hash'e
+ * dokunulmaz (downgrade yok).
+ */
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final String PROBE = "calibration-probe-password";
+    private static final int SAMPLES = 3;
+
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    /**
+     * p50 süresi hedefi aşmayan en yüksek cost'u seçer (min/max arasında).
+     */
+    public static AdaptiveBCryptPasswordEncoder calibrated(long targetLatencyMs, int minStrength, int maxStrength) {
+        // JIT ısınsın diye ölçüm dışı bir tur
+        new BCryptPasswordEncoder(minStrength).encode(PROBE);
+
+        int chosen = minStrength;
+        for (int s = minStrength; s <= maxStrength; s++) {
+            long p50 = medianMillis(s);
+            if (p50 > targetLatencyMs) break;
+            chosen = s;
+        }
+        return new AdaptiveBCryptPasswordEncoder(chosen);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost < 0 || cost < strength;
+    }
+
+    private static long medianMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(PROBE);
+            samples[i] = (System.nanoTime() - start) / 1_000_000L;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+
+    // "$2a$12$..." -> 12
+    private static int costOf(String hash) {
+        if (hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        char d1 = hash.charAt(4);
+        char d2 = hash.charAt(5);
+        if (!Character.isDigit(d1) || !Character.isDigit(d2)) return -1;
+        return (d1 - '0') * 10 + (d2 - '0');
+    }
+}
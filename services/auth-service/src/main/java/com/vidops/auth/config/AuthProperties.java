@@ -5,8 +5,13 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "vidops.security")
 public record AuthProperties(
         Jwt jwt,
-        Cookies cookies
+        Cookies cookies,
+        RefreshTokens refreshTokens
 ) {
+    public AuthProperties {
+        if (refreshTokens == null) refreshTokens = new RefreshTokens(0);
+    }
+
     public record Jwt(
             String issuer,
             String secretBase64,
@@ -25,4 +30,15 @@ public record AuthProperties(
             String domain,
             String sameSite
     ) { }
+
+    /**
+     * partitionMonthsAhead: refresh TTL'in ötesinde kaç ay partition önceden açılsın.
+     */
+    public record RefreshTokens(
+            int partitionMonthsAhead
+    ) {
+        public RefreshTokens {
+            if (partitionMonthsAhead <= 0) partitionMonthsAhead = 2;
+        }
+    }
 }
@@ -4,5 +4,14 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties(AuthProperties.class)
+@EnableConfigurationProperties({
+        AuthProperties.class,
+        PasswordHashingProperties.class,
+        OutboxProperties.class,
+        MailDispatchProperties.class,
+        KafkaProducerProperties.class,
+        RateLimitProperties.class,
+        InternalKeyProperties.class,
+        ProfileEnsureProperties.class
+})
 public class AuthPropertiesConfig {}
@@ -1,6 +1,9 @@
 package com.vidops.auth.config;
 
 import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.vidops.security.CachingJwtDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -26,9 +29,12 @@ public class JwtConfig {
 
     @Primary
     @Bean
-    public JwtDecoder jwtDecoder(AuthProperties props) {
+    public JwtDecoder jwtDecoder(AuthProperties props,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${vidops.security.jwt.decoder-cache-size:10000}") int cacheSize) {
         byte[] secret = Base64.getDecoder().decode(props.jwt().secretBase64());
         SecretKey key = new SecretKeySpec(secret, "HmacSHA256");
-        return NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        JwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(key).macAlgorithm(MacAlgorithm.HS256).build();
+        return cacheSize > 0 ? new CachingJwtDecoder(nimbus, cacheSize, meterRegistry, "access") : nimbus;
     }
 }
@@ -3,6 +3,7 @@ package com.vidops.auth.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vidops.events.UserEventCodec;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
@@ -14,6 +15,7 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 @Configuration
@@ -21,12 +23,25 @@ public class KafkaProducerConfig {
 
     @Bean
     public ProducerFactory<String, byte[]> producerFactory(
-            @Value("${spring.kafka.bootstrap-servers:kafka:9092}") String bootstrapServers
+            @Value("${spring.kafka.bootstrap-servers:kafka:9092}") String bootstrapServers,
+            KafkaProducerProperties props
     ) {
+        if (props.idempotence() && (!"all".equals(props.acks()) && !"-1".equals(props.acks()) || props.maxInFlight() > 5)) {
+            throw new IllegalStateException("vidops.kafka.producer.idempotence requires acks=all and max-in-flight <= 5");
+        }
+
         Map<String, Object> cfg = new HashMap<>();
         cfg.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         cfg.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         cfg.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        cfg.put(ProducerConfig.BATCH_SIZE_CONFIG, props.batchSize());
+        cfg.put(ProducerConfig.LINGER_MS_CONFIG, props.lingerMs());
+        cfg.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, props.compression());
+        cfg.put(ProducerConfig.ACKS_CONFIG, props.acks());
+        cfg.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, props.idempotence());
+        cfg.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, props.maxInFlight());
+        // delivery.timeout.ms >= linger.ms + request.timeout.ms olmalı
+        cfg.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, Math.max(props.deliveryTimeoutMs(), props.lingerMs() + 30_000));
         return new DefaultKafkaProducerFactory<>(cfg);
     }
 
@@ -42,4 +57,16 @@ public class KafkaProducerConfig {
         om.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return om;
     }
+
+    /**
+     * binary: kompakt v1 formatı. json: eski format; consumer'lar yeni codec'e geçmeden
+     * önce deploy ediliyorsa kullanılır. Consumer her iki formatı da okur.
+     */
+    @Bean
+    public UserEventCodec userEventCodec(
+            ObjectMapper objectMapper,
+            @Value("${vidops.events.wire-format:binary}") String wireFormat
+    ) {
+        return new UserEventCodec(objectMapper, UserEventCodec.WireFormat.valueOf(wireFormat.trim().toUpperCase(Locale.ROOT)));
+    }
 }
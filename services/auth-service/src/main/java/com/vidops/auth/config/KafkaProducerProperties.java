@@ -0,0 +1,28 @@
+package com.vidops.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Event producer profili. Kampanya dönemlerinde throughput'u kod değiştirmeden ayarlamak için.
+ * idempotence=true iken Kafka acks=all ve max-in-flight <= 5 ister.
+ */
+@ConfigurationProperties(prefix = "vidops.kafka.producer")
+public record KafkaProducerProperties(
+        int batchSize,
+        Integer lingerMs,
+        String compression,
+        String acks,
+        Boolean idempotence,
+        int maxInFlight,
+        int deliveryTimeoutMs
+) {
+    public KafkaProducerProperties {
+        if (batchSize <= 0) batchSize = 64 * 1024;
+        if (lingerMs == null || lingerMs < 0) lingerMs = 5;
+        if (compression == null || compression.isBlank()) compression = "lz4";
+        if (acks == null || acks.isBlank()) acks = "all";
+        if (idempotence == null) idempotence = true;
+        if (maxInFlight <= 0) maxInFlight = 5;
+        if (deliveryTimeoutMs <= 0) deliveryTimeoutMs = 120_000;
+    }
+}
@@ -0,0 +1,29 @@
+package com.vidops.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Doğrulama maili kuyruğunun gönderim ayarları.
+ * Her worker kendi dilimini tek bir SMTP bağlantısı üzerinden gönderir.
+ * maxAgeMs: bu yaştan eski satırlar (içindeki doğrulama linki artık geçersiz) kuyruktan silinir.
+ */
+@ConfigurationProperties(prefix = "vidops.mail.dispatch")
+public record MailDispatchProperties(
+        int workers,
+        int batchSize,
+        long leaseSeconds,
+        int maxAttempts,
+        long backoffBaseMs,
+        long backoffMaxMs,
+        long maxAgeMs
+) {
+    public MailDispatchProperties {
+        if (workers <= 0) workers = 2;
+        if (batchSize <= 0) batchSize = 20;
+        if (leaseSeconds <= 0) leaseSeconds = 120;
+        if (maxAttempts <= 0) maxAttempts = 8;
+        if (backoffBaseMs <= 0) backoffBaseMs = 5_000;
+        if (backoffMaxMs <= 0) backoffMaxMs = 15 * 60_000;
+        if (maxAgeMs <= 0) maxAgeMs = 24 * 60 * 60_000L;
+    }
+}
@@ -0,0 +1,22 @@
+package com.vidops.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * vidops.events.outbox.enabled=false -> event'ler eskisi gibi doğrudan Kafka'ya gider.
+ * listenNotify=true -> relay, poll aralığına ek olarak Postgres NOTIFY ile de uyanır.
+ * sendTimeoutMs: batch ack beklemesi; relay bunu en az producer delivery.timeout.ms'e çeker.
+ */
+@ConfigurationProperties(prefix = "vidops.events.outbox")
+public record OutboxProperties(
+        int batchSize,
+        long pollIntervalMs,
+        long sendTimeoutMs,
+        boolean listenNotify
+) {
+    public OutboxProperties {
+        if (batchSize <= 0) batchSize = 200;
+        if (pollIntervalMs <= 0) pollIntervalMs = 1_000;
+        if (sendTimeoutMs <= 0) sendTimeoutMs = 125_000;
+    }
+}
@@ -0,0 +1,32 @@
+package com.vidops.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * BCrypt işleri için ayrılmış havuzun ve hash cost'unun ayarları.
+ * 0 / boş bırakılan değerler makineye göre varsayılanlara çekilir.
+ *
+ * strength > 0 ise sabit cost kullanılır, değilse startup'ta
+ * targetLatencyMs'e göre [minStrength, maxStrength] aralığında kalibre edilir.
+ */
+@ConfigurationProperties(prefix = "vidops.security.hashing")
+public record PasswordHashingProperties(
+        int poolSize,
+        int queueCapacity,
+        long maxWaitMs,
+        long retryAfterSeconds,
+        int strength,
+        long targetLatencyMs,
+        int minStrength,
+        int maxStrength
+) {
+    public PasswordHashingProperties {
+        if (poolSize <= 0) poolSize = Runtime.getRuntime().availableProcessors();
+        if (queueCapacity <= 0) queueCapacity = poolSize * 16;
+        if (maxWaitMs <= 0) maxWaitMs = 2_000;
+        if (retryAfterSeconds <= 0) retryAfterSeconds = 2;
+        if (targetLatencyMs <= 0) targetLatencyMs = 80;
+        if (minStrength <= 0) minStrength = 10;
+        if (maxStrength < minStrength) maxStrength = Math.max(minStrength, 14);
+    }
+}
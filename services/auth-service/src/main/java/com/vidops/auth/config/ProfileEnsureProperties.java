@@ -0,0 +1,26 @@
+package com.vidops.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Google login sadece profil değiştiğinde user.registered publish ettiği için, kaybolan bir
+ * event'in (ör. DLT'de kalmış) profili eksik bırakmaması için isteğe bağlı ensure sweep'i.
+ * cron "-" ise kapalı; açıkken profili maxAge'den eski publish edilmiş kullanıcılar için
+ * isimsiz user.registered tekrar gönderilir (user-service mevcut ismi korur).
+ */
+@ConfigurationProperties(prefix = "vidops.events.profile-ensure")
+public record ProfileEnsureProperties(
+        String cron,
+        Duration maxAge,
+        int batchSize,
+        int maxPerRun
+) {
+    public ProfileEnsureProperties {
+        if (cron == null || cron.isBlank()) cron = "-";
+        if (maxAge == null) maxAge = Duration.ofDays(7);
+        if (batchSize <= 0) batchSize = 500;
+        if (maxPerRun <= 0) maxPerRun = 50_000;
+    }
+}
@@ -0,0 +1,43 @@
+package com.vidops.auth.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * Public auth endpoint'lerinin (login/register/resend) IP ve email bazlı token-bucket limitleri.
+ * Bucket'lar bellekte tutulur; maxBuckets aşılınca en az kullanılanlar atılır.
+ *
+ * trustForwardedFor: istemci IP'si gateway'in yazdığı X-Vidops-Client-Ip header'ından alınır
+ * (X-Forwarded-For'a hiç güvenilmez). Sadece servise gateway dışından erişilemiyorsa ya da
+ * trustedProxies (gateway adres regex'i) verilmişse açılmalı; yoksa header uydurulabilir.
+ */
+@ConfigurationProperties(prefix = "vidops.security.rate-limit")
+public record RateLimitProperties(
+        Boolean enabled,
+        int maxBuckets,
+        int stripes,
+        Boolean trustForwardedFor,
+        String trustedProxies,
+        Map<String, Endpoint> endpoints
+) {
+    public RateLimitProperties {
+        if (enabled == null) enabled = true;
+        if (maxBuckets <= 0) maxBuckets = 100_000;
+        if (stripes <= 0) stripes = 64;
+        if (trustForwardedFor == null) trustForwardedFor = false;
+        if (endpoints == null) endpoints = Map.of();
+    }
+
+    /**
+     * perEmail null ise endpoint sadece IP ile sınırlanır.
+     */
+    public record Endpoint(String path, Limit perIp, Limit perEmail) {
+    }
+
+    /**
+     * capacity: ani burst, refillPerMinute: sürekli izin verilen hız.
+     */
+    public record Limit(int capacity, double refillPerMinute) {
+    }
+}
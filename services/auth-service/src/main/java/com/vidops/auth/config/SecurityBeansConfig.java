@@ -1,15 +1,34 @@
 package com.vidops.auth.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
 @Configuration
 public class SecurityBeansConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityBeansConfig.class);
+
+    /**
+     * Yeni hash'ler "{bcrypt}$2a$NN$..." formatında yazılır.
+     * Prefix'siz eski hash'ler (ilk sürümden kalan) yine BCrypt ile doğrulanır,
+     * login sırasında upgradeEncoding true döner ve yeniden hash'lenir.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties props) {
+        AdaptiveBCryptPasswordEncoder bcrypt = props.strength() > 0
+                ? new AdaptiveBCryptPasswordEncoder(props.strength())
+                : AdaptiveBCryptPasswordEncoder.calibrated(props.targetLatencyMs(), props.minStrength(), props.maxStrength());
+
+        log.info("Password hashing uses bcrypt cost {} (target {} ms)", bcrypt.getStrength(), props.targetLatencyMs());
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 }
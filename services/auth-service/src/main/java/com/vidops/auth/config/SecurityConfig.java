@@ -1,5 +1,7 @@
 package com.vidops.auth.config;
 
+import com.vidops.security.InternalIdentityAuthenticationFilter;
+import com.vidops.security.InternalIdentityCodec;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,19 +9,29 @@ import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 public class SecurityConfig {
 
     private final JwtDecoder jwtDecoder;
+    private final InternalKeyProperties internalKey;
 
-    public SecurityConfig(@Qualifier("jwtDecoder") JwtDecoder jwtDecoder) {
+    public SecurityConfig(@Qualifier("jwtDecoder") JwtDecoder jwtDecoder, InternalKeyProperties internalKey) {
         this.jwtDecoder = jwtDecoder;
+        this.internalKey = internalKey;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        // gateway token'ı doğrulamışsa imzalı kimlik header'ı yeterli, JWT tekrar decode edilmez
+        if (internalKey.enabled()) {
+            http.addFilterBefore(
+                    new InternalIdentityAuthenticationFilter(InternalIdentityCodec.fromBase64(internalKey.keyBase64())),
+                    BearerTokenAuthenticationFilter.class);
+        }
+
         return http
                 .csrf(csrf -> csrf.disable())
                 .httpBasic(b -> b.disable())
@@ -35,6 +35,13 @@ public class AuthUser {
     @Column(nullable = false)
     private String roles; // "USER,ADMIN"
 
+    // son publish edilen profilin özeti (email + isim); null -> hiç publish edilmedi / eski kayıt
+    @Column(name = "profile_fingerprint")
+    private Long profileFingerprint;
+
+    @Column(name = "profile_published_at")
+    private Instant profilePublishedAt;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
@@ -77,6 +84,15 @@ public class AuthUser {
         this.emailVerificationExpiresAt = null;
     }
 
+    public boolean isProfilePublished(long fingerprint) {
+        return profileFingerprint != null && profileFingerprint == fingerprint;
+    }
+
+    public void markProfilePublished(long fingerprint, Instant at) {
+        this.profileFingerprint = fingerprint;
+        this.profilePublishedAt = at;
+    }
+
     @PrePersist
     void onCreate() {
         Instant now = Instant.now();
@@ -153,6 +169,14 @@ public class AuthUser {
         this.roles = roles;
     }
 
+    public Long getProfileFingerprint() {
+        return profileFingerprint;
+    }
+
+    public Instant getProfilePublishedAt() {
+        return profilePublishedAt;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
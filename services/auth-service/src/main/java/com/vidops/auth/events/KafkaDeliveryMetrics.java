@@ -0,0 +1,74 @@
+package com.vidops.auth.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KafkaTemplate.send future'larına teslim sonucu ölçümü bağlar (topic bazında).
+ * Süre send çağrısından broker ack'ine kadardır; linger ve batch beklemesini de içerir.
+ */
+@Component
+public class KafkaDeliveryMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaDeliveryMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TopicMeters> meters = new ConcurrentHashMap<>();
+
+    public KafkaDeliveryMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <K, V> CompletableFuture<SendResult<K, V>> track(String topic,
+                                                             int recordBytes,
+                                                             CompletableFuture<SendResult<K, V>> send) {
+        TopicMeters m = meters.computeIfAbsent(topic, this::register);
+        m.recordSize.record(recordBytes);
+        long start = System.nanoTime();
+
+        return send.whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            if (error == null) {
+                m.success.record(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                m.failure.record(elapsed, TimeUnit.NANOSECONDS);
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                meterRegistry.counter("vidops.auth.kafka.publish.failures",
+                        "topic", topic, "exception", cause.getClass().getSimpleName()).increment();
+                log.warn("Kafka publish to {} failed: {}", topic, cause.toString());
+            }
+        });
+    }
+
+    private TopicMeters register(String topic) {
+        return new TopicMeters(
+                Timer.builder("vidops.auth.kafka.publish")
+                        .description("send -> broker ack latency")
+                        .tags("topic", topic, "outcome", "success")
+                        .register(meterRegistry),
+                Timer.builder("vidops.auth.kafka.publish")
+                        .description("send -> broker ack latency")
+                        .tags("topic", topic, "outcome", "failure")
+                        .register(meterRegistry),
+                DistributionSummary.builder("vidops.auth.kafka.record.size")
+                        .baseUnit("bytes")
+                        .tags("topic", topic)
+                        .register(meterRegistry)
+        );
+    }
+
+    private record TopicMeters(Timer success, Timer failure, DistributionSummary recordSize) {
+    }
+}
@@ -1,25 +1,38 @@
 package com.vidops.auth.events;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vidops.events.UserDeletedEvent;
+import com.vidops.events.UserEventCodec;
+import com.vidops.events.UserRegisteredEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+/**
+ * Doğrudan publish: broker gecikmesi çağıranın transaction'ına girer.
+ * Sadece vidops.events.outbox.enabled=false iken aktif.
+ */
 @Component
+@ConditionalOnProperty(name = "vidops.events.outbox.enabled", havingValue = "false")
 public class KafkaUserEventPublisher implements UserEventPublisher {
 
     private final KafkaTemplate<String, byte[]> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final UserEventCodec codec;
+    private final KafkaDeliveryMetrics deliveryMetrics;
 
-    public KafkaUserEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate, ObjectMapper objectMapper) {
+    public KafkaUserEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                   UserEventCodec codec,
+                                   KafkaDeliveryMetrics deliveryMetrics) {
         this.kafkaTemplate = kafkaTemplate;
-        this.objectMapper = objectMapper;
+        this.codec = codec;
+        this.deliveryMetrics = deliveryMetrics;
     }
 
     @Override
     public void publishUserRegistered(UserRegisteredEvent event) {
         try {
-            byte[] payload = objectMapper.writeValueAsBytes(event);
-            kafkaTemplate.send("user.registered", event.userId().toString(), payload);
+            byte[] payload = codec.encode(event);
+            deliveryMetrics.track(UserEventTopics.USER_REGISTERED, payload.length,
+                    kafkaTemplate.send(UserEventTopics.USER_REGISTERED, event.userId().toString(), payload));
         } catch (Exception e) {
             throw new RuntimeException("Failed to publish user.registered event", e);
         }
@@ -28,8 +41,9 @@ public class KafkaUserEventPublisher implements UserEventPublisher {
     @Override
     public void publishUserDeleted(UserDeletedEvent event) {
         try {
-            byte[] payload = objectMapper.writeValueAsBytes(event);
-            kafkaTemplate.send("user.deleted", event.userId().toString(), payload);
+            byte[] payload = codec.encode(event);
+            deliveryMetrics.track(UserEventTopics.USER_DELETED, payload.length,
+                    kafkaTemplate.send(UserEventTopics.USER_DELETED, event.userId().toString(), payload));
         } catch (Exception e) {
             throw new RuntimeException("Failed to publish user.deleted event", e);
         }
@@ -0,0 +1,87 @@
+package com.vidops.auth.events;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * LISTEN outbox_events: insert commit olur olmaz relay'i uyandırır (poll gecikmesi yok).
+ * Havuzdan bir bağlantıyı kalıcı olarak tutar; kopunca kısa bir beklemeyle yeniden bağlanır.
+ * Outbox kapalıysa (vidops.events.outbox.enabled=false) relay yoktur, listener da açılmaz.
+ */
+@Component
+@ConditionalOnProperty(name = "vidops.events.outbox.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnProperty(name = "vidops.events.outbox.listen-notify", havingValue = "true")
+public class OutboxNotificationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxNotificationListener.class);
+    private static final int WAIT_MS = 5_000;
+    private static final long RECONNECT_DELAY_MS = 2_000;
+
+    private final DataSource dataSource;
+    private final OutboxRelay relay;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxNotificationListener(DataSource dataSource, OutboxRelay relay) {
+        this.dataSource = dataSource;
+        this.relay = relay;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::listenLoop, "outbox-listen");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) worker.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection conn = dataSource.getConnection()) {
+                conn.setAutoCommit(true);
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN outbox_events");
+                }
+                PGConnection pg = conn.unwrap(PGConnection.class);
+
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(WAIT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        relay.drain();
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) return;
+                log.warn("Outbox LISTEN connection lost, reconnecting", e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
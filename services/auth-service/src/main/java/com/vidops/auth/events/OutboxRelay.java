@@ -0,0 +1,167 @@
+package com.vidops.auth.events;
+
+import com.vidops.auth.config.KafkaProducerProperties;
+import com.vidops.auth.config.OutboxProperties;
+import com.vidops.auth.entity.OutboxEvent;
+import com.vidops.auth.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * outbox_events tablosunu batch'ler halinde Kafka'ya boşaltır.
+ * Her batch: kısa bir transaction'da sahiplen (claimed_until) -> gönder -> ack'leri bekle -> sil.
+ * Ack beklenirken transaction, DB bağlantısı ve kilit tutulmaz. Gönderim hata verirse claim
+ * bırakılır, satırlar bir sonraki turda tekrar denenir (at-least-once; consumer tarafı
+ * upsert/delete ile idempotent).
+ *
+ * Sıra: claim advisory lock altında alınır ve süresi dolmamış bir claim varken yeni batch
+ * alınmaz; birden fazla replika olsa da bir sonraki batch ancak önceki silindikten (ya da
+ * claim'i bırakıldıktan) sonra yola çıkar, yani bir kullanıcının user.deleted'ı
+ * user.registered'ından önce Kafka'ya gidemez. Ack beklemesi producer'ın delivery.timeout.ms'inden
+ * kısa olamaz, claim süresi de ack beklemesinden uzundur; yoksa producer ilk gönderimi hâlâ
+ * denerken batch tekrar gönderilir (duplicate ve sıra bozulması).
+ *
+ * Relay kendi thread'inde çalışır: Kafka kesintisinde ack beklemesi (dakikalar) Spring'in
+ * ortak scheduler thread'ini ve diğer @Scheduled job'ları bekletmez.
+ */
+@Component
+@ConditionalOnProperty(name = "vidops.events.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final long RELAY_LOCK_KEY = 0x7669646F70735F6FL; // "vidops_o"
+    // flush + silme payı
+    private static final long CLAIM_MARGIN_MS = 10_000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final TransactionTemplate tx;
+    private final OutboxProperties props;
+    private final KafkaDeliveryMetrics deliveryMetrics;
+    private final long sendTimeoutMs;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "outbox-relay");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, byte[]> kafkaTemplate,
+                       TransactionTemplate tx,
+                       OutboxProperties props,
+                       KafkaProducerProperties producerProps,
+                       KafkaDeliveryMetrics deliveryMetrics) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.tx = tx;
+        this.props = props;
+        this.deliveryMetrics = deliveryMetrics;
+        this.sendTimeoutMs = Math.max(props.sendTimeoutMs(), producerProps.deliveryTimeoutMs() + 5_000L);
+    }
+
+    @Scheduled(fixedDelayString = "${vidops.events.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        drain();
+    }
+
+    /**
+     * Scheduler ve NOTIFY listener'dan çağrılabilir, beklemeden döner. Zaten çalışan bir drain
+     * varsa sadece "tekrar bak" işareti bırakır.
+     */
+    public void drain() {
+        pending.set(true);
+        if (running.compareAndSet(false, true)) {
+            executor.execute(this::drainLoop);
+        }
+    }
+
+    private void drainLoop() {
+        do {
+            try {
+                while (pending.getAndSet(false)) {
+                    int relayed;
+                    do {
+                        relayed = relayBatch();
+                    } while (relayed == props.batchSize());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, will retry on next poll", e);
+            } finally {
+                running.set(false);
+            }
+            // running bırakılırken gelen drain() çağrısı kaybolmasın
+        } while (pending.get() && running.compareAndSet(false, true));
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> claimed = tx.execute(status -> outboxEventRepository.tryRelayLock(RELAY_LOCK_KEY)
+                ? outboxEventRepository.claimNextBatch(props.batchSize(), sendTimeoutMs + CLAIM_MARGIN_MS)
+                : List.of());
+        if (claimed == null || claimed.isEmpty()) return 0;
+
+        List<OutboxEvent> batch = new ArrayList<>(claimed);
+        batch.sort(Comparator.comparing(OutboxEvent::getId));
+        List<Long> ids = batch.stream().map(OutboxEvent::getId).toList();
+
+        try {
+            send(batch);
+        } catch (RuntimeException e) {
+            try {
+                tx.executeWithoutResult(status -> outboxEventRepository.releaseClaims(ids));
+            } catch (RuntimeException releaseFailure) {
+                // claim süresi dolunca zaten tekrar alınır
+                e.addSuppressed(releaseFailure);
+            }
+            throw e;
+        }
+
+        tx.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(ids));
+        return batch.size();
+    }
+
+    private void send(List<OutboxEvent> batch) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent e : batch) {
+            sends.add(deliveryMetrics.track(e.getTopic(), e.getPayload().length,
+                    kafkaTemplate.send(e.getTopic(), e.getMessageKey(), e.getPayload())));
+        }
+        // linger'ı beklemeden batch'i yola çıkar
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Outbox relay interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Outbox batch publish failed", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
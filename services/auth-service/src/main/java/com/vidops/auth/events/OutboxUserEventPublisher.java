@@ -0,0 +1,44 @@
+package com.vidops.auth.events;
+
+import com.vidops.auth.entity.OutboxEvent;
+import com.vidops.auth.repository.OutboxEventRepository;
+import com.vidops.events.UserDeletedEvent;
+import com.vidops.events.UserEventCodec;
+import com.vidops.events.UserRegisteredEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Event'i çağıranın transaction'ı içinde outbox_events'e yazar.
+ * Rollback olursa event de yok olur; Kafka'ya {@link OutboxRelay} taşır.
+ */
+@Component
+@ConditionalOnProperty(name = "vidops.events.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxUserEventPublisher implements UserEventPublisher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final UserEventCodec codec;
+
+    public OutboxUserEventPublisher(OutboxEventRepository outboxEventRepository, UserEventCodec codec) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.codec = codec;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishUserRegistered(UserRegisteredEvent event) {
+        append(UserEventTopics.USER_REGISTERED, event.userId().toString(), codec.encode(event));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishUserDeleted(UserDeletedEvent event) {
+        append(UserEventTopics.USER_DELETED, event.userId().toString(), codec.encode(event));
+    }
+
+    private void append(String topic, String key, byte[] payload) {
+        outboxEventRepository.save(OutboxEvent.of(topic, key, payload));
+    }
+}
@@ -1,5 +1,8 @@
 package com.vidops.auth.events;
 
+import com.vidops.events.UserDeletedEvent;
+import com.vidops.events.UserRegisteredEvent;
+
 public interface UserEventPublisher {
     void publishUserRegistered(UserRegisteredEvent event);
     void publishUserDeleted(UserDeletedEvent event);
@@ -0,0 +1,10 @@
+package com.vidops.auth.events;
+
+public final class UserEventTopics {
+
+    public static final String USER_REGISTERED = "user.registered";
+    public static final String USER_DELETED = "user.deleted";
+
+    private UserEventTopics() {
+    }
+}
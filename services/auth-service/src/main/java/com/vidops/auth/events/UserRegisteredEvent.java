@@ -1,11 +0,0 @@
-package com.vidops.auth.events;
-
-import java.time.Instant;
-import java.util.UUID;
-
-public record UserRegisteredEvent(
-        UUID userId,
-        String email,
-        String fullName,
-        Instant timestamp
-) {}
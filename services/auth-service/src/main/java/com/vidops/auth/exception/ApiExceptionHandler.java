@@ -1,5 +1,6 @@
 package com.vidops.auth.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -58,6 +59,13 @@ public class ApiExceptionHandler {
                 .body(error(HttpStatus.FORBIDDEN, "password_change_not_allowed", "Bu hesap türünde şifre değiştirilemez."));
     }
 
+    @ExceptionHandler(HashingCapacityExceededException.class)
+    public ResponseEntity<?> hashingOverloaded(HashingCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error(HttpStatus.SERVICE_UNAVAILABLE, "hashing_overloaded", "Sunucu şu anda yoğun. Lütfen biraz sonra tekrar dene."));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> validation(MethodArgumentNotValidException e) {
         FieldError fe = e.getBindingResult().getFieldErrors().stream()
@@ -42,7 +42,7 @@ public class AuthFacadeImpl implements AuthFacade {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public AuthResponse login(LoginRequest req, HttpServletResponse res) {
         AuthUser user = authService.login(req.email(), req.password());
 
@@ -0,0 +1,238 @@
+package com.vidops.auth.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vidops.auth.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * login/register/resend isteklerini Spring Security'den, DB'den ve BCrypt'ten önce sınırlar.
+ * Önce IP bucket'ı (body okumadan), sonra normalize edilmiş email bucket'ı kontrol edilir.
+ * Limit aşılırsa 429 + Retry-After döner.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    // login/register body'si birkaç yüz byte; daha büyüğü email limitini atlatmak için kullanılamasın
+    private static final int MAX_BODY_BYTES = 8 * 1024;
+
+    // api-gateway ClientIpHeaderFilter
+    static final String CLIENT_IP_HEADER = "X-Vidops-Client-Ip";
+
+    private final RateLimitProperties props;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final StripedTokenBucketLimiter limiter;
+    private final Map<String, Rule> rulesByPath = new HashMap<>();
+    private final Pattern trustedProxies;
+
+    public AuthRateLimitFilter(RateLimitProperties props, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new StripedTokenBucketLimiter(props.stripes(), props.maxBuckets());
+        this.trustedProxies = props.trustedProxies() == null || props.trustedProxies().isBlank()
+                ? null
+                : Pattern.compile(props.trustedProxies());
+
+        props.endpoints().forEach((name, e) -> {
+            if (e.path() != null && !e.path().isBlank()) {
+                rulesByPath.put(e.path(), new Rule(name, e));
+            }
+        });
+
+        meterRegistry.gauge("vidops.auth.ratelimit.buckets", limiter, StripedTokenBucketLimiter::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !props.enabled()
+                || !"POST".equals(request.getMethod())
+                || !rulesByPath.containsKey(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Rule rule = rulesByPath.get(request.getRequestURI());
+        long now = System.nanoTime();
+
+        RateLimitProperties.Limit perIp = rule.endpoint.perIp();
+        if (perIp != null) {
+            long waitNanos = limiter.tryAcquire(rule.name + "|ip|" + clientIp(request),
+                    perIp.capacity(), perIp.refillPerMinute(), now);
+            if (waitNanos > 0) {
+                reject(response, rule, "ip", waitNanos);
+                return;
+            }
+        }
+
+        RateLimitProperties.Limit perEmail = rule.endpoint.perEmail();
+        if (perEmail == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CachedBodyRequest cached = CachedBodyRequest.wrap(request);
+        if (cached == null) {
+            response.sendError(HttpStatus.CONTENT_TOO_LARGE.value());
+            return;
+        }
+
+        String email = extractEmail(cached.body);
+        if (email != null) {
+            long waitNanos = limiter.tryAcquire(rule.name + "|email|" + email,
+                    perEmail.capacity(), perEmail.refillPerMinute(), now);
+            if (waitNanos > 0) {
+                reject(response, rule, "email", waitNanos);
+                return;
+            }
+        }
+
+        chain.doFilter(cached, response);
+    }
+
+    /**
+     * Gateway arkasında remoteAddr gateway'in adresidir. Gateway istemci IP'sini kendi çözer,
+     * istemcinin gönderdiğini silip X-Vidops-Client-Ip olarak yazar; X-Forwarded-For istemci
+     * tarafından uydurulabileceği için kullanılmaz.
+     */
+    private String clientIp(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        if (props.trustForwardedFor() && (trustedProxies == null || trustedProxies.matcher(remote).matches())) {
+            String ip = request.getHeader(CLIENT_IP_HEADER);
+            if (ip != null && !ip.isBlank()) return ip.trim();
+        }
+        return remote;
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body.length == 0) return null;
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            if (email == null || !email.isTextual()) return null;
+            String normalized = email.asText().trim().toLowerCase(Locale.ROOT);
+            return normalized.isEmpty() ? null : normalized;
+        } catch (IOException e) {
+            // bozuk body'yi controller'daki validation reddeder
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, Rule rule, String keyType, long waitNanos) throws IOException {
+        meterRegistry.counter("vidops.auth.ratelimit.rejected", "endpoint", rule.name, "key", keyType).increment();
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(Math.min(waitNanos, TimeUnit.HOURS.toNanos(1))) + 1);
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "rate_limited");
+        body.put("message", "Çok fazla deneme yapıldı. Lütfen biraz sonra tekrar dene.");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private record Rule(String name, RateLimitProperties.Endpoint endpoint) {
+    }
+
+    /**
+     * Body bir kez okunur, controller aynı byte'ları tekrar okur.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /**
+         * @return body MAX_BODY_BYTES'ı aşıyorsa null
+         */
+        static CachedBodyRequest wrap(HttpServletRequest request) throws IOException {
+            if (request.getContentLengthLong() > MAX_BODY_BYTES) return null;
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            return body.length > MAX_BODY_BYTES ? null : new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
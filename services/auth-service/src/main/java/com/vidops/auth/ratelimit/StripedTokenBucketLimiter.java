@@ -0,0 +1,99 @@
+package com.vidops.auth.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Key başına token bucket. Key'ler hash ile stripe'lara dağılır; her stripe kendi kilidi
+ * altında access-ordered bir LRU tutar, böylece toplam bucket sayısı sınırlıdır ve
+ * farklı key'ler birbirini nadiren bekler.
+ */
+public class StripedTokenBucketLimiter {
+
+    private final Stripe[] stripes;
+
+    public StripedTokenBucketLimiter(int stripes, int maxBuckets) {
+        int n = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        int perStripe = Math.max(1, maxBuckets / n);
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            this.stripes[i] = new Stripe(perStripe);
+        }
+    }
+
+    /**
+     * Bir token almaya çalışır.
+     *
+     * @return 0 ise izin verildi; değilse bir sonraki token'a kalan süre (nanosaniye)
+     */
+    public long tryAcquire(String key, int capacity, double refillPerMinute, long nowNanos) {
+        Stripe s = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        double refillPerNano = refillPerMinute / 60_000_000_000d;
+
+        s.lock.lock();
+        try {
+            Bucket b = s.buckets.get(key);
+            if (b == null) {
+                b = new Bucket(capacity, nowNanos);
+                s.buckets.put(key, b);
+            } else {
+                long elapsed = nowNanos - b.lastRefillNanos;
+                if (elapsed > 0) {
+                    b.tokens = Math.min(capacity, b.tokens + elapsed * refillPerNano);
+                    b.lastRefillNanos = nowNanos;
+                }
+            }
+
+            if (b.tokens >= 1d) {
+                b.tokens -= 1d;
+                return 0;
+            }
+            if (refillPerNano <= 0) return Long.MAX_VALUE;
+            return (long) Math.ceil((1d - b.tokens) / refillPerNano);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe s : stripes) {
+            s.lock.lock();
+            try {
+                total += s.buckets.size();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return total;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long lastRefillNanos;
+
+        Bucket(int capacity, long nowNanos) {
+            this.tokens = capacity;
+            this.lastRefillNanos = nowNanos;
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<String, Bucket> buckets;
+
+        Stripe(int maxSize) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+    }
+}
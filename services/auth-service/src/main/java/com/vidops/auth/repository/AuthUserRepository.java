@@ -2,11 +2,37 @@ package com.vidops.auth.repository;
 
 import com.vidops.auth.entity.AuthUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface AuthUserRepository extends JpaRepository<AuthUser, UUID> {
     Optional<AuthUser> findByEmail(String email);
     Optional<AuthUser> findByEmailVerificationTokenHash(String tokenHash);
+
+    /**
+     * Profili hiç publish edilmemiş veya maxAgeSeconds'tan eski publish edilmiş kullanıcıları
+     * sahiplenir ve profile_published_at'i now() yapar; eşzamanlı sweep'ler aynı satırı almaz.
+     * Sweep ismi taşıyamadığı için fingerprint de silinir: kaybolmuş bir isim değişikliği bir
+     * sonraki Google login'de tam profille tekrar publish edilir.
+     */
+    @Query(value = """
+            update auth_users
+               set profile_published_at = now(),
+                   profile_fingerprint = null
+             where id in (
+                   select id
+                     from auth_users
+                    where profile_published_at is null
+                       or profile_published_at < now() - :maxAgeSeconds * interval '1 second'
+                    order by profile_published_at nulls first
+                    limit :limit
+                      for update skip locked
+             )
+            returning *
+            """, nativeQuery = true)
+    List<AuthUser> claimProfileEnsure(@Param("limit") int limit, @Param("maxAgeSeconds") long maxAgeSeconds);
 }
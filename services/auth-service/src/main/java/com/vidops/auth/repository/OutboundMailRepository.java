@@ -0,0 +1,68 @@
+package com.vidops.auth.repository;
+
+import com.vidops.auth.entity.OutboundMail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboundMailRepository extends JpaRepository<OutboundMail, Long> {
+
+    /**
+     * Vadesi gelmiş mailleri lease ile sahiplenir: next_attempt_at lease kadar ileri atılır,
+     * attempts artırılır. Instance gönderirken ölürse satır lease bitince tekrar alınır.
+     */
+    @Query(value = """
+            update mail_outbox
+               set next_attempt_at = now() + :leaseSeconds * interval '1 second',
+                   attempts = attempts + 1
+             where id in (
+                   select id
+                     from mail_outbox
+                    where failed_at is null
+                      and next_attempt_at <= now()
+                    order by next_attempt_at
+                    limit :limit
+                      for update skip locked
+             )
+            returning *
+            """, nativeQuery = true)
+    List<OutboundMail> claimDue(@Param("limit") int limit, @Param("leaseSeconds") long leaseSeconds);
+
+    @Modifying
+    @Query("""
+            update OutboundMail m
+               set m.nextAttemptAt = :nextAttemptAt,
+                   m.lastError = :error,
+                   m.failedAt = :failedAt
+             where m.id = :id
+            """)
+    int markAttemptFailed(@Param("id") Long id,
+                          @Param("nextAttemptAt") Instant nextAttemptAt,
+                          @Param("error") String error,
+                          @Param("failedAt") Instant failedAt);
+
+    /**
+     * Vazgeçilen mail; body'deki doğrulama linki (ham token) hemen silinir.
+     */
+    @Modifying
+    @Query("""
+            update OutboundMail m
+               set m.lastError = :error,
+                   m.failedAt = :failedAt,
+                   m.body = ''
+             where m.id = :id
+            """)
+    int markDead(@Param("id") Long id,
+                 @Param("error") String error,
+                 @Param("failedAt") Instant failedAt);
+
+    @Modifying
+    @Query("delete from OutboundMail m where m.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+
+    long countByFailedAtIsNull();
+}
@@ -0,0 +1,45 @@
+package com.vidops.auth.repository;
+
+import com.vidops.auth.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Claim sırasında relay'lerin tek sahibi olmak için advisory lock; commit/rollback'te bırakılır.
+     * Alınamazsa başka bir instance o an batch sahipleniyordur.
+     */
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(@Param("key") long key);
+
+    /**
+     * En eski event'leri claimMs süresince sahiplenir. Süresi dolmamış bir claim varsa (önceki
+     * batch hâlâ yolda) hiçbir şey almaz. tryRelayLock ile aynı transaction'da çağrılmalı.
+     * RETURNING sırası garanti değildir; çağıran id'ye göre sıralar.
+     */
+    @Query(value = """
+            update outbox_events
+               set claimed_until = now() + :claimMs * interval '1 millisecond'
+             where id in (
+                   select id
+                     from outbox_events
+                    where not exists (select 1 from outbox_events c where c.claimed_until > now())
+                    order by id
+                    limit :limit
+             )
+            returning *
+            """, nativeQuery = true)
+    List<OutboxEvent> claimNextBatch(@Param("limit") int limit, @Param("claimMs") long claimMs);
+
+    /**
+     * Gönderilemeyen batch'in claim'ini bırakır; süre dolmasını beklemeden tekrar denenir.
+     */
+    @Modifying
+    @Query(value = "update outbox_events set claimed_until = null where id in (:ids)", nativeQuery = true)
+    int releaseClaims(@Param("ids") List<Long> ids);
+}
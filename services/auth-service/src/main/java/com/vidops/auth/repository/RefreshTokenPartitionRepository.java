@@ -0,0 +1,58 @@
+package com.vidops.auth.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * refresh_tokens aylık partition'larının bakımı (bkz. V3__partition_refresh_tokens.sql).
+ * Partition adı refresh_tokens_pYYYYMM, aralığı o ayın UTC başlangıcından sonraki aya kadar.
+ */
+@Repository
+public class RefreshTokenPartitionRepository {
+
+    private static final String PREFIX = "refresh_tokens_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbc;
+
+    public RefreshTokenPartitionRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void lock() {
+        jdbc.execute("select pg_advisory_xact_lock(hashtext('refresh_tokens_partitions'))");
+    }
+
+    public void ensure(YearMonth month) {
+        jdbc.queryForObject("select ensure_refresh_tokens_partition(?)", String.class, month.atDay(1));
+    }
+
+    public List<YearMonth> findAll() {
+        List<String> names = jdbc.queryForList("""
+                select c.relname
+                  from pg_inherits i
+                  join pg_class c on c.oid = i.inhrelid
+                  join pg_class p on p.oid = i.inhparent
+                 where p.relname = 'refresh_tokens'
+                """, String.class);
+
+        List<YearMonth> months = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (name.startsWith(PREFIX) && name.length() == PREFIX.length() + 6) {
+                months.add(YearMonth.parse(name.substring(PREFIX.length()), SUFFIX));
+            }
+        }
+        return months;
+    }
+
+    public void detachAndDrop(YearMonth month) {
+        String name = PREFIX + month.format(SUFFIX);
+        jdbc.execute("alter table refresh_tokens detach partition " + name);
+        jdbc.execute("drop table " + name);
+    }
+}
@@ -2,12 +2,49 @@ package com.vidops.auth.repository;
 
 import com.vidops.auth.entity.RefreshToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
     Optional<RefreshToken> findByTokenHash(String tokenHash);
-    long deleteByExpiresAtBefore(java.time.Instant now);
-    long deleteByUserId(UUID userId);
+
+    // Tek DELETE statement; entity'ler persistence context'e yüklenmez
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("delete from RefreshToken t where t.userId in :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Refresh rotation tek round trip'te: eski token sadece hâlâ aktifse revoke edilir
+     * ve aynı statement içinde yerine geçen token eklenir.
+     * Eşzamanlı iki istekte satır kilidi yüzünden sadece biri user_id alır, diğeri boş döner.
+     */
+    @Query(value = """
+            WITH old AS (
+                UPDATE refresh_tokens
+                   SET revoked_at = now(),
+                       replaced_by_hash = :newHash
+                 WHERE token_hash = :oldHash
+                   AND revoked_at IS NULL
+                   AND expires_at > now()
+             RETURNING user_id
+            )
+            INSERT INTO refresh_tokens (id, user_id, token_hash, expires_at, created_at)
+            SELECT :newId, old.user_id, :newHash, :newExpiresAt, now()
+              FROM old
+            RETURNING user_id
+            """, nativeQuery = true)
+    Optional<UUID> rotate(@Param("oldHash") String oldHash,
+                          @Param("newId") UUID newId,
+                          @Param("newHash") String newHash,
+                          @Param("newExpiresAt") Instant newExpiresAt);
 }
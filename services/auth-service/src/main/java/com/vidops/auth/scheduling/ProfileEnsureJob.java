@@ -0,0 +1,71 @@
+package com.vidops.auth.scheduling;
+
+import com.vidops.auth.config.ProfileEnsureProperties;
+import com.vidops.auth.entity.AuthUser;
+import com.vidops.auth.events.UserEventPublisher;
+import com.vidops.auth.repository.AuthUserRepository;
+import com.vidops.events.UserRegisteredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Profil ensure sweep'i (varsayılan kapalı, vidops.events.profile-ensure.cron).
+ * Batch'ler ayrı transaction'larda sahiplenilir; event'ler outbox'a aynı transaction'da yazılır.
+ * fullName null gönderilir: user-service eksik profili email'den türetilen isimle açar,
+ * var olanın ismine dokunmaz. Fingerprint silinir, yani kullanıcının bir sonraki Google
+ * login'i ismi de içeren tam profili publish eder.
+ */
+@Component
+public class ProfileEnsureJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileEnsureJob.class);
+
+    private final AuthUserRepository authUserRepository;
+    private final UserEventPublisher userEventPublisher;
+    private final TransactionTemplate tx;
+    private final ProfileEnsureProperties props;
+    private final Counter ensured;
+
+    public ProfileEnsureJob(AuthUserRepository authUserRepository,
+                            UserEventPublisher userEventPublisher,
+                            TransactionTemplate tx,
+                            ProfileEnsureProperties props,
+                            MeterRegistry meterRegistry) {
+        this.authUserRepository = authUserRepository;
+        this.userEventPublisher = userEventPublisher;
+        this.tx = tx;
+        this.props = props;
+        this.ensured = meterRegistry.counter("vidops.auth.profile.ensure.published");
+    }
+
+    @Scheduled(cron = "${vidops.events.profile-ensure.cron:-}")
+    public void ensureProfiles() {
+        int total = 0;
+        while (total < props.maxPerRun()) {
+            int limit = Math.min(props.batchSize(), props.maxPerRun() - total);
+            Integer claimed = tx.execute(status -> publishBatch(limit));
+            if (claimed == null || claimed == 0) break;
+            total += claimed;
+            if (claimed < limit) break;
+        }
+        if (total > 0) log.info("Re-published {} user profiles", total);
+    }
+
+    private int publishBatch(int limit) {
+        List<AuthUser> users = authUserRepository.claimProfileEnsure(limit, props.maxAge().toSeconds());
+        Instant now = Instant.now();
+        for (AuthUser u : users) {
+            userEventPublisher.publishUserRegistered(new UserRegisteredEvent(u.getId(), u.getEmail(), null, now));
+        }
+        ensured.increment(users.size());
+        return users.size();
+    }
+}
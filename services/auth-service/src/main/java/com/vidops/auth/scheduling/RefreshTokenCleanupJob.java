@@ -1,9 +1,15 @@
 package com.vidops.auth.scheduling;
 
 import com.vidops.auth.service.RefreshTokenService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * refresh_tokens partition bakımı: gelecek ayları önceden aç, tamamen expired ayları drop et.
+ * Maliyet satır sayısına değil partition sayısına bağlı.
+ */
 @Component
 public class RefreshTokenCleanupJob {
 
@@ -13,9 +19,15 @@ public class RefreshTokenCleanupJob {
         this.refreshTokenService = refreshTokenService;
     }
 
+    // insert'ler partition bulamazsın diye startup'ta da garanti et
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        refreshTokenService.ensureTokenPartitions();
+    }
+
     @Scheduled(cron = "0 30 3 * * *")
     public void cleanupExpired() {
+        refreshTokenService.ensureTokenPartitions();
         refreshTokenService.cleanupExpiredTokens();
     }
 }
-
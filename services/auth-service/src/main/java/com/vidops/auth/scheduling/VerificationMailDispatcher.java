@@ -0,0 +1,215 @@
+package com.vidops.auth.scheduling;
+
+import com.vidops.auth.config.MailDispatchProperties;
+import com.vidops.auth.entity.OutboundMail;
+import com.vidops.auth.repository.OutboundMailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * mail_outbox kuyruğunu SMTP'ye boşaltır.
+ * Vadesi gelen satırlar lease ile sahiplenilir, worker'lara dilimlenir; her dilim tek
+ * {@link JavaMailSender#send(SimpleMailMessage...)} çağrısıyla, yani tek SMTP bağlantısı
+ * üzerinden gönderilir. Başarısız mailler exponential backoff ile tekrar denenir,
+ * max-attempts aşılınca failed_at işaretlenip body'si (ham token'lı link) silinir.
+ * max-age'den eski satırlar (link süresi dolmuş) periyodik olarak kuyruktan silinir.
+ */
+@Component
+public class VerificationMailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(VerificationMailDispatcher.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboundMailRepository outboundMailRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate tx;
+    private final MailDispatchProperties props;
+    private final ExecutorService workers;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter deadCounter;
+
+    public VerificationMailDispatcher(OutboundMailRepository outboundMailRepository,
+                                      JavaMailSender mailSender,
+                                      TransactionTemplate tx,
+                                      MailDispatchProperties props,
+                                      MeterRegistry meterRegistry) {
+        this.outboundMailRepository = outboundMailRepository;
+        this.mailSender = mailSender;
+        this.tx = tx;
+        this.props = props;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(props.workers(), r -> {
+            Thread t = new Thread(r, "mail-dispatch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        meterRegistry.gauge("vidops.auth.mail.queue.depth", queueDepth);
+        this.sendTimer = Timer.builder("vidops.auth.mail.send")
+                .description("SMTP batch send latency (one connection per batch)")
+                .register(meterRegistry);
+        this.sentCounter = meterRegistry.counter("vidops.auth.mail.sent");
+        this.retryCounter = meterRegistry.counter("vidops.auth.mail.failed", "outcome", "retry");
+        this.deadCounter = meterRegistry.counter("vidops.auth.mail.failed", "outcome", "dead");
+    }
+
+    @Scheduled(fixedDelayString = "${vidops.mail.dispatch.poll-interval-ms:500}")
+    public void dispatch() {
+        try {
+            List<OutboundMail> claimed;
+            do {
+                claimed = tx.execute(status ->
+                        outboundMailRepository.claimDue(props.batchSize() * props.workers(), props.leaseSeconds()));
+                if (claimed == null || claimed.isEmpty()) break;
+                sendAll(claimed);
+            } while (claimed.size() == props.batchSize() * props.workers());
+
+            queueDepth.set(outboundMailRepository.countByFailedAtIsNull());
+        } catch (RuntimeException e) {
+            log.warn("Mail dispatch failed, will retry on next poll", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vidops.mail.dispatch.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        try {
+            Instant cutoff = Instant.now().minusMillis(props.maxAgeMs());
+            Integer purged = tx.execute(status -> outboundMailRepository.deleteCreatedBefore(cutoff));
+            if (purged != null && purged > 0) log.info("Purged {} expired mails from mail_outbox", purged);
+        } catch (RuntimeException e) {
+            log.warn("Mail outbox purge failed, will retry", e);
+        }
+    }
+
+    private void sendAll(List<OutboundMail> claimed) {
+        List<Future<Map<OutboundMail, Exception>>> futures = new ArrayList<>();
+        for (int from = 0; from < claimed.size(); from += props.batchSize()) {
+            List<OutboundMail> slice = claimed.subList(from, Math.min(from + props.batchSize(), claimed.size()));
+            futures.add(workers.submit(() -> sendBatch(slice)));
+        }
+
+        Map<OutboundMail, Exception> failures = new IdentityHashMap<>();
+        for (Future<Map<OutboundMail, Exception>> f : futures) {
+            try {
+                failures.putAll(f.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // sonucu bilinmeyen satırlar lease bitince tekrar alınır
+                return;
+            } catch (ExecutionException e) {
+                log.warn("Mail worker crashed", e.getCause());
+                return;
+            }
+        }
+
+        List<Long> sent = new ArrayList<>(claimed.size());
+        for (OutboundMail m : claimed) {
+            if (!failures.containsKey(m)) sent.add(m.getId());
+        }
+
+        tx.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) outboundMailRepository.deleteAllByIdInBatch(sent);
+            failures.forEach(this::scheduleRetry);
+        });
+        sentCounter.increment(sent.size());
+    }
+
+    /**
+     * Dilimi tek send çağrısıyla yollar. Dönen map sadece başarısız mailleri içerir.
+     */
+    private Map<OutboundMail, Exception> sendBatch(List<OutboundMail> batch) {
+        Map<SimpleMailMessage, OutboundMail> byMessage = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            OutboundMail m = batch.get(i);
+            SimpleMailMessage msg = new SimpleMailMessage();
+            msg.setFrom(m.getSender());
+            msg.setTo(m.getRecipient());
+            msg.setSubject(m.getSubject());
+            msg.setText(m.getBody());
+            messages[i] = msg;
+            byMessage.put(msg, m);
+        }
+
+        Map<OutboundMail, Exception> failed = new IdentityHashMap<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            Map<Object, Exception> perMessage = e.getFailedMessages();
+            if (perMessage.isEmpty()) {
+                // bağlantı seviyesinde hata: dilimin tamamı başarısız
+                batch.forEach(m -> failed.put(m, e));
+            } else {
+                perMessage.forEach((msg, ex) -> {
+                    OutboundMail m = byMessage.get(msg);
+                    if (m != null) failed.put(m, ex);
+                });
+            }
+        } catch (MailException e) {
+            batch.forEach(m -> failed.put(m, e));
+        } finally {
+            sample.stop(sendTimer);
+        }
+        return failed;
+    }
+
+    private void scheduleRetry(OutboundMail m, Exception error) {
+        String message = truncate(String.valueOf(error.getMessage()));
+        Instant now = Instant.now();
+
+        if (m.getAttempts() >= props.maxAttempts()) {
+            log.warn("Giving up on mail {} to {} after {} attempts: {}", m.getId(), m.getRecipient(), m.getAttempts(), message);
+            outboundMailRepository.markDead(m.getId(), message, now);
+            deadCounter.increment();
+            return;
+        }
+
+        outboundMailRepository.markAttemptFailed(m.getId(), now.plus(backoff(m.getAttempts())), message, null);
+        retryCounter.increment();
+    }
+
+    private Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 20);
+        long delay = Math.min(props.backoffBaseMs() << shift, props.backoffMaxMs());
+        return Duration.ofMillis(delay);
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdown();
+    }
+}
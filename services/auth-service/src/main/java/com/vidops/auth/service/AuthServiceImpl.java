@@ -2,13 +2,14 @@ package com.vidops.auth.service;
 
 import com.vidops.auth.entity.AuthUser;
 import com.vidops.auth.enums.AuthProvider;
-import com.vidops.auth.events.UserDeletedEvent;
 import com.vidops.auth.events.UserEventPublisher;
-import com.vidops.auth.events.UserRegisteredEvent;
 import com.vidops.auth.exception.*;
 import com.vidops.auth.repository.AuthUserRepository;
+import com.vidops.events.UserDeletedEvent;
+import com.vidops.events.UserRegisteredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
@@ -23,26 +24,32 @@ import java.util.UUID;
 public class AuthServiceImpl implements AuthService {
 
     private final AuthUserRepository authUserRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
     private final JwtDecoder googleJwtDecoder;
     private final UserEventPublisher userEventPublisher;
     private final EmailVerificationService emailVerificationService;
 
+    private final Counter googleProfilePublished;
+    private final Counter googleProfileUnchanged;
+
     public AuthServiceImpl(
             AuthUserRepository authUserRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             JwtService jwtService,
             @Qualifier("googleJwtDecoder") JwtDecoder googleJwtDecoder,
             UserEventPublisher userEventPublisher,
-            EmailVerificationService emailVerificationService
+            EmailVerificationService emailVerificationService,
+            MeterRegistry meterRegistry
     ) {
         this.authUserRepository = authUserRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtService = jwtService;
         this.googleJwtDecoder = googleJwtDecoder;
         this.userEventPublisher = userEventPublisher;
         this.emailVerificationService = emailVerificationService;
+        this.googleProfilePublished = meterRegistry.counter("vidops.auth.google.profile.publish", "result", "published");
+        this.googleProfileUnchanged = meterRegistry.counter("vidops.auth.google.profile.publish", "result", "unchanged");
     }
 
     @Override
@@ -52,17 +59,12 @@ public class AuthServiceImpl implements AuthService {
             throw new DuplicateEmailException(email);
         });
 
-        AuthUser user = AuthUser.createLocal(email, passwordEncoder.encode(password));
+        AuthUser user = AuthUser.createLocal(email, passwordHashingService.encode(password));
         AuthUser saved = authUserRepository.save(user);
 
         // Profile ismi kaybolmasın diye event'i register'da publish ediyoruz
         String safeFullName = normalizeFullName(fullName, email);
-        userEventPublisher.publishUserRegistered(new UserRegisteredEvent(
-                saved.getId(),
-                saved.getEmail(),
-                safeFullName,
-                Instant.now()
-        ));
+        publishProfile(saved, safeFullName);
 
         emailVerificationService.sendVerification(saved);
 
@@ -89,7 +91,7 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
     public AuthUser login(String email, String password) {
         AuthUser user = authUserRepository.findByEmail(email)
                 .orElseThrow(InvalidCredentialsException::new);
@@ -98,7 +100,7 @@ public class AuthServiceImpl implements AuthService {
             throw new InvalidCredentialsException();
         }
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(password, user.getPasswordHash())) {
             throw new InvalidCredentialsException();
         }
 
@@ -107,6 +109,12 @@ public class AuthServiceImpl implements AuthService {
             throw new IllegalStateException("email_not_verified");
         }
 
+        // Cost/algoritma değiştiyse şifre elimizdeyken sessizce yeniden hash'le
+        if (passwordHashingService.needsRehash(user.getPasswordHash())) {
+            user.setPasswordHash(passwordHashingService.encode(password));
+            authUserRepository.save(user);
+        }
+
         return user;
     }
 
@@ -148,11 +156,11 @@ public class AuthServiceImpl implements AuthService {
             throw new PasswordChangeNotAllowedException();
         }
 
-        if (!passwordEncoder.matches(currentPassword, user.getPasswordHash())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPasswordHash())) {
             throw new CurrentPasswordInvalidException();
         }
 
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHashingService.encode(newPassword));
         authUserRepository.save(user);
     }
 
@@ -192,13 +200,14 @@ public class AuthServiceImpl implements AuthService {
                 throw new DuplicateEmailException(email);
             }
 
-            // Google tarafında profile ensure etmek için event tekrar publish edilebilir (idempotent olmalı)
-            userEventPublisher.publishUserRegistered(new UserRegisteredEvent(
-                    existing.getId(),
-                    existing.getEmail(),
-                    safeFullName,
-                    Instant.now()
-            ));
+            // Google'daki isim/email son publish edilenden farklıysa profili güncelle; aynıysa
+            // event gereksiz (eksik profilleri ProfileEnsureJob tamamlar)
+            if (existing.isProfilePublished(ProfileFingerprint.of(existing.getEmail(), safeFullName))) {
+                googleProfileUnchanged.increment();
+            } else {
+                publishProfile(existing, safeFullName);
+                googleProfilePublished.increment();
+            }
 
             return existing;
         }
@@ -206,17 +215,28 @@ public class AuthServiceImpl implements AuthService {
         AuthUser created = AuthUser.createGoogle(email);
         AuthUser saved = authUserRepository.save(created);
 
+        publishProfile(saved, safeFullName);
+        googleProfilePublished.increment();
+
+        return saved;
+    }
+
+    /**
+     * user.registered publish eder ve fingerprint'i kaydeder. Outbox açıkken ikisi aynı
+     * transaction'da yazılır, yani fingerprint publish edilmemiş bir profili göstermez.
+     */
+    private void publishProfile(AuthUser user, String safeFullName) {
+        Instant now = Instant.now();
         userEventPublisher.publishUserRegistered(new UserRegisteredEvent(
-                saved.getId(),
-                saved.getEmail(),
+                user.getId(),
+                user.getEmail(),
                 safeFullName,
-                Instant.now()
+                now
         ));
-
-        return saved;
+        user.markProfilePublished(ProfileFingerprint.of(user.getEmail(), safeFullName), now);
     }
 
-    private static String normalizeFullName(String fullName, String email) {
+    static String normalizeFullName(String fullName, String email) {
         String v = (fullName == null) ? "" : fullName.trim();
         if (!v.isBlank()) return v;
 
@@ -1,10 +1,10 @@
 package com.vidops.auth.service;
 
 import com.vidops.auth.entity.AuthUser;
+import com.vidops.auth.entity.OutboundMail;
 import com.vidops.auth.repository.AuthUserRepository;
+import com.vidops.auth.repository.OutboundMailRepository;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,7 +19,7 @@ import java.util.Base64;
 public class EmailVerificationServiceImpl implements EmailVerificationService {
 
     private final AuthUserRepository repo;
-    private final JavaMailSender mailSender;
+    private final OutboundMailRepository outboundMailRepository;
 
     @Value("${vidops.public-url:http://localhost:8090}")
     private String publicUrl;
@@ -29,9 +29,9 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
 
     private final SecureRandom random = new SecureRandom();
 
-    public EmailVerificationServiceImpl(AuthUserRepository repo, JavaMailSender mailSender) {
+    public EmailVerificationServiceImpl(AuthUserRepository repo, OutboundMailRepository outboundMailRepository) {
         this.repo = repo;
-        this.mailSender = mailSender;
+        this.outboundMailRepository = outboundMailRepository;
     }
 
     @Override
@@ -46,18 +46,16 @@ public class EmailVerificationServiceImpl implements EmailVerificationService {
 
         String verifyLink = publicUrl + "/verify-email?token=" + token;
 
-        SimpleMailMessage msg = new SimpleMailMessage();
-        msg.setFrom(from);
-        msg.setTo(user.getEmail());
-        msg.setSubject("aiboxio • Email doğrulama");
-        msg.setText(
+        // SMTP request thread'inde beklenmez; VerificationMailDispatcher kuyruktan gönderir
+        outboundMailRepository.save(OutboundMail.of(
+                from,
+                user.getEmail(),
+                "aiboxio • Email doğrulama",
                 "Merhaba,\n\n" +
                         "Email adresini doğrulamak için linke tıkla:\n" +
                         verifyLink + "\n\n" +
                         "Bu link 24 saat geçerlidir.\n"
-        );
-
-        mailSender.send(msg);
+        ));
     }
 
     @Override
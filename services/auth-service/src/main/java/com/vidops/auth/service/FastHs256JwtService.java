@@ -0,0 +1,108 @@
+package com.vidops.auth.service;
+
+import com.vidops.auth.config.AuthProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Access token'ı NimbusJwtEncoder'a gitmeden imzalar: header sabit olduğu için bir kez encode
+ * edilir, claim seti sabit olduğu için JSON elle yazılır, Mac thread başına bir kez init edilir.
+ * Üretilen token {@link JwtServiceImpl} ile aynı claim'leri taşır ve NimbusJwtDecoder ile doğrulanır.
+ */
+@Service
+@ConditionalOnProperty(name = "vidops.security.jwt.signer", havingValue = "fast", matchIfMissing = true)
+public class FastHs256JwtService implements JwtService {
+
+    private static final Base64.Encoder B64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final byte[] HEADER_B64 = B64URL.encode("{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII));
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final AuthProperties props;
+    private final String issuerJson;
+    private final ThreadLocal<Mac> mac;
+
+    public FastHs256JwtService(AuthProperties props) {
+        this.props = props;
+        this.issuerJson = jsonString(props.jwt().issuer());
+
+        byte[] secret = Base64.getDecoder().decode(props.jwt().secretBase64());
+        if (secret.length < 32) {
+            // NimbusJwtDecoder HS256 için 256 bit altı anahtarı reddeder
+            throw new IllegalStateException("vidops.security.jwt.secret-base64 must be at least 256 bits for HS256");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret, "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance("HmacSHA256");
+                m.init(key);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        });
+    }
+
+    @Override
+    public String issueAccessToken(UUID userId, String email, String rolesCsv) {
+        long now = Instant.now().getEpochSecond();
+        long exp = now + props.jwt().accessTtlSeconds();
+
+        String claims = new StringBuilder(160)
+                .append("{\"iss\":").append(issuerJson)
+                .append(",\"iat\":").append(now)
+                .append(",\"exp\":").append(exp)
+                .append(",\"sub\":\"").append(userId).append('"')
+                .append(",\"email\":").append(jsonString(email))
+                .append(",\"roles\":").append(jsonString(rolesCsv == null ? "" : rolesCsv))
+                .append('}')
+                .toString();
+
+        byte[] payload = B64URL.encode(claims.getBytes(StandardCharsets.UTF_8));
+        byte[] signingInput = new byte[HEADER_B64.length + 1 + payload.length];
+        System.arraycopy(HEADER_B64, 0, signingInput, 0, HEADER_B64.length);
+        signingInput[HEADER_B64.length] = '.';
+        System.arraycopy(payload, 0, signingInput, HEADER_B64.length + 1, payload.length);
+
+        byte[] signature = B64URL.encode(mac.get().doFinal(signingInput));
+
+        byte[] token = new byte[signingInput.length + 1 + signature.length];
+        System.arraycopy(signingInput, 0, token, 0, signingInput.length);
+        token[signingInput.length] = '.';
+        System.arraycopy(signature, 0, token, signingInput.length + 1, signature.length);
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    static String jsonString(String s) {
+        if (s == null) return "null";
+
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
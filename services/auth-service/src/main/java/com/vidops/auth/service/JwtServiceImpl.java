@@ -1,6 +1,7 @@
 package com.vidops.auth.service;
 
 import com.vidops.auth.config.AuthProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwsHeader;
 import org.springframework.security.oauth2.jwt.JwtClaimsSet;
@@ -11,7 +12,11 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.UUID;
 
+/**
+ * NimbusJwtEncoder ile imzalama. vidops.security.jwt.signer=nimbus iken aktif.
+ */
 @Service
+@ConditionalOnProperty(name = "vidops.security.jwt.signer", havingValue = "nimbus")
 public class JwtServiceImpl implements JwtService {
 
     private final JwtEncoder encoder;
@@ -0,0 +1,18 @@
+package com.vidops.auth.service;
+
+/**
+ * BCrypt çağrılarını servlet thread'inden alıp sınırlı bir havuzda çalıştırır.
+ * Kuyruk doluysa {@link com.vidops.auth.exception.HashingCapacityExceededException} fırlatır.
+ */
+public interface PasswordHashingService {
+
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String passwordHash);
+
+    /**
+     * Stored hash farklı bir algoritma/cost ile üretildiyse true.
+     * Sadece hash'in başını okur, havuza gitmez.
+     */
+    boolean needsRehash(String passwordHash);
+}
@@ -0,0 +1,145 @@
+package com.vidops.auth.service;
+
+import com.vidops.auth.config.PasswordHashingProperties;
+import com.vidops.auth.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingProperties props;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder,
+                                      PasswordHashingProperties props,
+                                      MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.props = props;
+
+        // Sabit boyutlu havuz + sınırlı kuyruk: taşarsa AbortPolicy ile hemen reddet
+        this.executor = new ThreadPoolExecutor(
+                props.poolSize(), props.poolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(props.queueCapacity()),
+                threadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        Gauge.builder("vidops.auth.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hash tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("vidops.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hash tasks currently running")
+                .register(meterRegistry);
+
+        this.waitTimer = Timer.builder("vidops.auth.hashing.wait")
+                .description("Time a password hash task spent queued")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("vidops.auth.hashing.duration")
+                .description("Time spent inside the password encoder")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("vidops.auth.hashing.rejected")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("vidops.auth.hashing.rejected")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String passwordHash) {
+        return submit(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    @Override
+    public boolean needsRehash(String passwordHash) {
+        return passwordEncoder.upgradeEncoding(passwordHash);
+    }
+
+    private <T> T submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new HashingCapacityExceededException(props.retryAfterSeconds());
+        }
+
+        try {
+            return future.get(props.maxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(future);
+            timedOut.increment();
+            throw new HashingCapacityExceededException(props.retryAfterSeconds());
+        } catch (InterruptedException e) {
+            cancel(future);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("password_hashing_interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            throw new IllegalStateException("password_hashing_failed", cause);
+        }
+    }
+
+    /**
+     * İptal edilen iş kuyruktan da çıkarılır; yoksa worker'a sırası gelene kadar kuyrukta yer
+     * tutar, queue.depth'te görünür ve AbortPolicy gerçek işler için 503 döndürür.
+     */
+    private void cancel(Future<?> future) {
+        future.cancel(true);
+        if (future instanceof Runnable task) executor.remove(task);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.vidops.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * user.registered ile publish edilen profil alanlarının (email + normalize isim) 64-bit özeti.
+ * Çakışma ihtimali pratikte yok; çakışsa bile en kötü ihtimalle bir güncelleme ensure
+ * sweep'ine kalır.
+ */
+final class ProfileFingerprint {
+
+    private ProfileFingerprint() {
+    }
+
+    static long of(String email, String fullName) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        sha256.update(email.getBytes(StandardCharsets.UTF_8));
+        sha256.update((byte) 0);
+        sha256.update(fullName.getBytes(StandardCharsets.UTF_8));
+
+        byte[] d = sha256.digest();
+        long v = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            v = (v << 8) | (d[i] & 0xFF);
+        }
+        return v;
+    }
+}
@@ -2,6 +2,7 @@ package com.vidops.auth.service;
 
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.util.Collection;
 import java.util.UUID;
 
 public interface RefreshTokenService {
@@ -19,8 +20,23 @@ public interface RefreshTokenService {
 
     void clearCookie(HttpServletResponse res);
 
+    /**
+     * Önümüzdeki aylar için refresh_tokens partition'larını önceden açar (refresh TTL + birkaç ay).
+     */
+    void ensureTokenPartitions();
+
+    /**
+     * Tamamen süresi dolmuş aylık partition'ları detach + drop eder.
+     * Returns the number of dropped partitions.
+     */
     long cleanupExpiredTokens();
 
     // YENİ: kullanıcıya ait tüm refresh tokenları sil
     long revokeAll(UUID userId);
+
+    /**
+     * Admin / incident response: birden çok kullanıcının tüm oturumlarını toplu kapatır.
+     * Returns the number of deleted refresh tokens.
+     */
+    long revokeAll(Collection<UUID> userIds);
 }
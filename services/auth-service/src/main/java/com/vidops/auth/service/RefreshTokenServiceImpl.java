@@ -3,6 +3,7 @@ package com.vidops.auth.service;
 import com.vidops.auth.config.AuthProperties;
 import com.vidops.auth.entity.RefreshToken;
 import com.vidops.auth.exception.InvalidRefreshTokenException;
+import com.vidops.auth.repository.RefreshTokenPartitionRepository;
 import com.vidops.auth.repository.RefreshTokenRepository;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
@@ -14,19 +15,31 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.SecureRandom;
 import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Service
 public class RefreshTokenServiceImpl implements RefreshTokenService {
 
+    // IN (...) listesi sınırsız büyümesin
+    private static final int REVOKE_BATCH_SIZE = 1_000;
+
     private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenPartitionRepository partitionRepository;
     private final AuthProperties props;
     private final SecureRandom random = new SecureRandom();
 
-    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository, AuthProperties props) {
+    public RefreshTokenServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                   RefreshTokenPartitionRepository partitionRepository,
+                                   AuthProperties props) {
         this.refreshTokenRepository = refreshTokenRepository;
+        this.partitionRepository = partitionRepository;
         this.props = props;
     }
 
@@ -54,25 +67,18 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         if (refreshToken == null || refreshToken.isBlank()) throw new InvalidRefreshTokenException();
 
         String oldHash = sha256Hex(refreshToken);
-        RefreshToken old = refreshTokenRepository.findByTokenHash(oldHash)
-                .orElseThrow(InvalidRefreshTokenException::new);
-
-        Instant now = Instant.now();
-        if (!old.isActive(now)) throw new InvalidRefreshTokenException();
 
         // issue new
         String newRaw = generateToken();
         String newHash = sha256Hex(newRaw);
-        Instant newExp = now.plus(props.jwt().refreshTtlDays(), ChronoUnit.DAYS);
+        Instant newExp = Instant.now().plus(props.jwt().refreshTtlDays(), ChronoUnit.DAYS);
 
-        refreshTokenRepository.save(RefreshToken.issue(old.getUserId(), newHash, newExp));
-
-        // revoke old + link replacement
-        old.revoke(newHash);
-        refreshTokenRepository.save(old);
+        // revoke old + insert successor: tek koşullu statement (bulunamadı / revoke / expired -> boş)
+        UUID userId = refreshTokenRepository.rotate(oldHash, UUID.randomUUID(), newHash, newExp)
+                .orElseThrow(InvalidRefreshTokenException::new);
 
         setRefreshCookie(newRaw, newExp, res);
-        return old.getUserId();
+        return userId;
     }
 
     @Override
@@ -103,16 +109,55 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         res.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
     }
 
+    @Override
+    @Transactional
+    public void ensureTokenPartitions() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth last = YearMonth.from(Instant.now()
+                        .plus(props.jwt().refreshTtlDays(), ChronoUnit.DAYS)
+                        .atZone(ZoneOffset.UTC))
+                .plusMonths(props.refreshTokens().partitionMonthsAhead());
+
+        for (YearMonth m = current; !m.isAfter(last); m = m.plusMonths(1)) {
+            partitionRepository.ensure(m);
+        }
+    }
+
     @Override
     @Transactional
     public long cleanupExpiredTokens() {
-        return refreshTokenRepository.deleteByExpiresAtBefore(Instant.now());
+        partitionRepository.lock();
+
+        // Geçmiş ayın partition'ındaki her token'ın expires_at'i < bu ayın başı <= now
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        long dropped = 0;
+        for (YearMonth m : partitionRepository.findAll()) {
+            if (m.isBefore(current)) {
+                partitionRepository.detachAndDrop(m);
+                dropped++;
+            }
+        }
+        return dropped;
     }
 
     @Override
     @Transactional
     public long revokeAll(UUID userId) {
-        return refreshTokenRepository.deleteByUserId(userId);
+        return refreshTokenRepository.deleteAllByUserId(userId);
+    }
+
+    @Override
+    @Transactional
+    public long revokeAll(Collection<UUID> userIds) {
+        if (userIds == null || userIds.isEmpty()) return 0;
+
+        List<UUID> ids = new ArrayList<>(userIds);
+        long deleted = 0;
+        for (int from = 0; from < ids.size(); from += REVOKE_BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + REVOKE_BATCH_SIZE, ids.size()));
+            deleted += refreshTokenRepository.deleteAllByUserIdIn(chunk);
+        }
+        return deleted;
     }
 
     private void setRefreshCookie(String token, Instant expiresAt, HttpServletResponse res) {
@@ -130,13 +175,13 @@ public class RefreshTokenServiceImpl implements RefreshTokenService {
         res.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
     }
 
-    private String generateToken() {
+    String generateToken() {
         byte[] bytes = new byte[32]; // 256-bit
         random.nextBytes(bytes);
         return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
-    private static String sha256Hex(String raw) {
+    static String sha256Hex(String raw) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
             byte[] hashed = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
@@ -0,0 +1,63 @@
+-- refresh_tokens -> expires_at üzerinden aylık RANGE partition.
+-- Süresi dolan token'lar satır satır silinmez, ay bittiğinde partition komple drop edilir.
+-- Partition key unique/PK constraint'lerinde olmak zorunda: (id, expires_at), (token_hash, expires_at).
+
+-- V1 ile açılmış kurulumlarda bu kolon Hibernate tarafından ekleniyordu
+alter table refresh_tokens add column if not exists replaced_by_hash varchar(64);
+
+alter table refresh_tokens rename to refresh_tokens_legacy;
+
+create table refresh_tokens (
+    id uuid not null,
+    user_id uuid not null,
+    token_hash varchar(64) not null,
+    expires_at timestamptz not null,
+    revoked_at timestamptz null,
+    replaced_by_hash varchar(64) null,
+    created_at timestamptz not null default now(),
+    constraint refresh_tokens_part_pkey primary key (id, expires_at),
+    constraint refresh_tokens_part_token_hash_key unique (token_hash, expires_at),
+    constraint fk_refresh_tokens_part_user foreign key (user_id) references auth_users(id) on delete cascade
+) partition by range (expires_at);
+
+-- Bir ayın partition'ını (UTC ay sınırları) yoksa oluşturur. Uygulama da gelecek aylar için bunu çağırır.
+create or replace function ensure_refresh_tokens_partition(p_month date) returns text as $$
+declare
+    v_month date := date_trunc('month', p_month::timestamp)::date;
+    v_name  text := 'refresh_tokens_p' || to_char(v_month, 'YYYYMM');
+    v_from  timestamptz := v_month::timestamp at time zone 'UTC';
+    v_to    timestamptz := (v_month + interval '1 month')::timestamp at time zone 'UTC';
+begin
+    perform pg_advisory_xact_lock(hashtext('refresh_tokens_partitions'));
+    execute format(
+        'create table if not exists %I partition of refresh_tokens for values from (%L) to (%L)',
+        v_name, v_from, v_to
+    );
+    return v_name;
+end;
+$$ language plpgsql;
+
+do $$
+declare
+    m date := date_trunc('month', now() at time zone 'UTC')::date;
+    last_month date := date_trunc('month', greatest(
+            (select max(expires_at) from refresh_tokens_legacy),
+            now() + interval '3 months'
+        ) at time zone 'UTC')::date;
+begin
+    while m <= last_month loop
+        perform ensure_refresh_tokens_partition(m);
+        m := (m + interval '1 month')::date;
+    end loop;
+end $$;
+
+-- süresi dolmuş satırları taşımaya gerek yok
+insert into refresh_tokens (id, user_id, token_hash, expires_at, revoked_at, replaced_by_hash, created_at)
+select id, user_id, token_hash, expires_at, revoked_at, replaced_by_hash, created_at
+from refresh_tokens_legacy
+where expires_at > now();
+
+drop table refresh_tokens_legacy;
+
+-- token_hash lookup'ları (token_hash, expires_at) unique index'ini kullanır, ayrı index gerekmez
+create index if not exists idx_refresh_tokens_user on refresh_tokens(user_id);
@@ -0,0 +1,23 @@
+-- Transactional outbox: domain event'leri iş transaction'ı ile aynı commit'te yazılır,
+-- OutboxRelay bunları batch halinde Kafka'ya taşır ve siler.
+create table if not exists outbox_events (
+    id bigserial primary key,
+    topic varchar(255) not null,
+    message_key varchar(255) not null,
+    payload bytea not null,
+    created_at timestamptz not null default now()
+);
+
+-- Relay LISTEN modundaysa poll aralığını beklemeden uyansın. NOTIFY commit'te ve
+-- transaction başına tekilleştirilmiş gider; statement-level trigger yeterli.
+create or replace function notify_outbox_events() returns trigger as $$
+begin
+    perform pg_notify('outbox_events', '');
+    return null;
+end;
+$$ language plpgsql;
+
+drop trigger if exists outbox_events_notify on outbox_events;
+create trigger outbox_events_notify
+    after insert on outbox_events
+    for each statement execute function notify_outbox_events();
@@ -0,0 +1,16 @@
+-- Doğrulama mailleri register transaction'ı içinde kuyruğa yazılır,
+-- VerificationMailDispatcher SMTP'ye batch halinde gönderir.
+create table if not exists mail_outbox (
+    id bigserial primary key,
+    sender text not null,
+    recipient text not null,
+    subject text not null,
+    body text not null,
+    attempts int not null default 0,
+    next_attempt_at timestamptz not null default now(),
+    last_error text null,
+    failed_at timestamptz null,
+    created_at timestamptz not null default now()
+);
+
+create index if not exists idx_mail_outbox_due on mail_outbox(next_attempt_at) where failed_at is null;
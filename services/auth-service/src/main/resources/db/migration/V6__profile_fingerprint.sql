@@ -0,0 +1,7 @@
+-- Google login'de user.registered sadece profil alanları değiştiyse publish edilir.
+-- profile_fingerprint: son publish edilen email + isim'in 64-bit özeti,
+-- profile_published_at: ProfileEnsureJob'un eski kayıtları bulması için.
+alter table auth_users add column if not exists profile_fingerprint bigint null;
+alter table auth_users add column if not exists profile_published_at timestamptz null;
+
+create index if not exists idx_auth_users_profile_published_at on auth_users(profile_published_at nulls first);
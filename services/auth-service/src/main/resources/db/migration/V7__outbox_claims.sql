@@ -0,0 +1,7 @@
+-- Relay batch'i kısa bir transaction'da sahiplenir (claimed_until), Kafka ack'lerini transaction
+-- ve DB bağlantısı tutmadan bekler, sonra satırları siler. Süresi dolmamış bir claim varken yeni
+-- batch alınmaz: replikalar arasında aynı anda tek batch yolda olur, sıra korunur. Relay çökerse
+-- claim süresi dolunca batch tekrar gönderilir (at-least-once).
+alter table outbox_events add column if not exists claimed_until timestamptz null;
+
+create index if not exists idx_outbox_events_claimed on outbox_events(claimed_until) where claimed_until is not null;
@@ -0,0 +1,165 @@
+package com.vidops.auth.scheduling;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.vidops.auth.config.MailDispatchProperties;
+import com.vidops.auth.entity.OutboundMail;
+import com.vidops.auth.repository.OutboundMailRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * mail_outbox (gerçek Postgres, V5 şeması) -> dispatcher -> SMTP (GreenMail) zinciri.
+ * Dispatcher test tarafından kurulur; @Scheduled tetiklemez, her test dispatch/purge'ü elle çağırır.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=none")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/db/migration/V5__mail_outbox.sql", statements = "truncate mail_outbox")
+class VerificationMailDispatcherTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16");
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private static final long BACKOFF_BASE_MS = 60_000;
+    private static final long LEASE_SECONDS = 600;
+
+    @Autowired
+    private OutboundMailRepository repository;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger connections = new AtomicInteger();
+
+    @BeforeEach
+    void resetConnections() {
+        connections.set(0);
+    }
+
+    @Test
+    void sendsClaimedBatchOverOneConnectionAndRemovesSentRows() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            repository.save(OutboundMail.of("noreply@vidops.local", "user" + i + "@example.com", "Verify", "link-" + i));
+        }
+
+        dispatcher(greenMail.getSmtp().getPort(), 8).dispatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).isEqualTo("Verify");
+        assertThat(connections).hasValue(1);
+        assertThat(repository.count()).isZero();
+    }
+
+    @Test
+    void smtpFailureIncrementsAttemptsAndBacksOff() throws Exception {
+        repository.save(OutboundMail.of("noreply@vidops.local", "user@example.com", "Verify", "link"));
+
+        Instant before = Instant.now();
+        dispatcher(closedPort(), 8).dispatch();
+        Instant after = Instant.now();
+
+        OutboundMail m = single();
+        assertThat(m.getAttempts()).isEqualTo(1);
+        assertThat(m.getFailedAt()).isNull();
+        assertThat(m.getLastError()).isNotBlank();
+        assertThat(m.getBody()).isEqualTo("link");
+        // lease (600s) yerine ilk backoff adımı (60s)
+        assertThat(m.getNextAttemptAt())
+                .isAfterOrEqualTo(before.plusMillis(BACKOFF_BASE_MS).minusSeconds(1))
+                .isBefore(after.plusMillis(BACKOFF_BASE_MS).plusSeconds(1));
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsAndClearsBody() throws Exception {
+        repository.save(OutboundMail.of("noreply@vidops.local", "user@example.com", "Verify", "link?token=secret"));
+
+        VerificationMailDispatcher dispatcher = dispatcher(closedPort(), 1);
+        dispatcher.dispatch();
+
+        OutboundMail m = single();
+        assertThat(m.getAttempts()).isEqualTo(1);
+        assertThat(m.getFailedAt()).isNotNull();
+        assertThat(m.getBody()).isEmpty();
+        assertThat(m.getLastError()).isNotBlank();
+
+        // dead satır tekrar sahiplenilmez
+        jdbc.update("update mail_outbox set next_attempt_at = now() - interval '1 minute'");
+        dispatcher.dispatch();
+        assertThat(single().getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeRemovesRowsOlderThanMaxAge() {
+        OutboundMail fresh = repository.save(OutboundMail.of("noreply@vidops.local", "new@example.com", "Verify", "link"));
+        OutboundMail old = repository.save(OutboundMail.of("noreply@vidops.local", "old@example.com", "Verify", "link"));
+        jdbc.update("update mail_outbox set created_at = now() - interval '2 hours' where id = ?", old.getId());
+
+        dispatcher(greenMail.getSmtp().getPort(), 8).purgeExpired();
+
+        assertThat(repository.findAll()).extracting(OutboundMail::getId).containsExactly(fresh.getId());
+    }
+
+    private VerificationMailDispatcher dispatcher(int smtpPort, int maxAttempts) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl() {
+            @Override
+            protected Transport connectTransport() throws MessagingException {
+                connections.incrementAndGet();
+                return super.connectTransport();
+            }
+        };
+        sender.setHost("127.0.0.1");
+        sender.setPort(smtpPort);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+
+        MailDispatchProperties props = new MailDispatchProperties(
+                1, 10, LEASE_SECONDS, maxAttempts, BACKOFF_BASE_MS, 15 * 60_000, Duration.ofHours(1).toMillis());
+        return new VerificationMailDispatcher(repository, sender, new TransactionTemplate(transactionManager),
+                props, new SimpleMeterRegistry());
+    }
+
+    private OutboundMail single() {
+        List<OutboundMail> all = repository.findAll();
+        assertThat(all).hasSize(1);
+        return all.getFirst();
+    }
+
+    private static int closedPort() throws IOException {
+        try (ServerSocket s = new ServerSocket(0)) {
+            return s.getLocalPort();
+        }
+    }
+}
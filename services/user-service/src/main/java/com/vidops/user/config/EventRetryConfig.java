@@ -0,0 +1,77 @@
+package com.vidops.user.config;
+
+import com.vidops.user.user.events.UserEventApplier;
+import com.vidops.user.user.events.retry.DltReplayService;
+import com.vidops.user.user.events.retry.EventRetryRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Configuration
+@EnableConfigurationProperties(EventRetryProperties.class)
+public class EventRetryConfig {
+
+    private static final Set<String> TOPICS = Set.of(UserEventApplier.USER_REGISTERED, UserEventApplier.USER_DELETED);
+
+    @Bean
+    public EventRetryRouter eventRetryRouter(KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        return new EventRetryRouter(TOPICS, kafkaTemplate, meterRegistry);
+    }
+
+    /**
+     * Boot bu bean'i varsayılan listener factory'ye bağlar.
+     *
+     * Tek kayda indirgenebilen hata (BatchListenerFailedException veya kayıt listener'ı) yerinde
+     * tekrar denenmez, kayıt hemen retry topic'ine taşınır ve partition akmaya devam eder.
+     * Batch'in tamamı hata verirse ya da kaydın hatası altyapıdansa (EventRetryRouter.isTransient:
+     * Postgres erişilemiyor) sorun kayıtta değildir; artan aralıklarla süresiz tekrar denenir,
+     * retry topic'leri ve DLT altyapı arızasıyla dolmaz. Hata türü değişirse (Postgres döndü,
+     * kayıt yine hata veriyor) deneme sayacı sıfırlanır ve kayıt retry topic'ine gider.
+     */
+    @Bean
+    public CommonErrorHandler kafkaErrorHandler(EventRetryRouter router) {
+        DefaultErrorHandler handler = new DefaultErrorHandler(router, infraBackOff());
+        handler.setBackOffFunction((record, ex) -> EventRetryRouter.isTransient(ex) ? infraBackOff() : new FixedBackOff(0, 0));
+        handler.setResetStateOnExceptionChange(true);
+        return handler;
+    }
+
+    private static ExponentialBackOff infraBackOff() {
+        ExponentialBackOff backOff = new ExponentialBackOff(1000, 2.0);
+        backOff.setMaxInterval(30_000);
+        return backOff;
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics eventRetryTopics(EventRetryProperties props) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String topic : TOPICS) {
+            for (int tier = 1; tier <= EventRetryProperties.TIERS; tier++) {
+                topics.add(TopicBuilder.name(EventRetryRouter.retryTopic(topic, tier)).partitions(props.partitions()).build());
+            }
+            topics.add(TopicBuilder.name(EventRetryRouter.dltTopic(topic)).partitions(props.partitions()).build());
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
+    @Bean
+    public DltReplayService dltReplayService(ConsumerFactory<String, byte[]> consumerFactory,
+                                             KafkaTemplate<String, byte[]> kafkaTemplate,
+                                             MeterRegistry meterRegistry) {
+        return new DltReplayService(consumerFactory, kafkaTemplate, meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.vidops.user.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * user.registered / user.deleted için retry topic'leri ve DLT.
+ *
+ * Hata alan kayıt <topic>.retry-1..3 topic'lerinden sırayla geçer; her katman kaydı delays'teki
+ * süre kadar bekletip tekrar dener. Son katmanda da başarısız olan veya hiç düzelmeyecek
+ * (decode edilemeyen) kayıt <topic>.dlt'ye düşer. Bekleme consumer thread'inde yapıldığı için
+ * her süre max.poll.interval.ms'den (5 dk) kısa olmalı.
+ *
+ * replayToken: DLT replay endpoint'i (X-Vidops-Admin-Token header'ı); boşsa endpoint kapalı.
+ */
+@ConfigurationProperties(prefix = "vidops.user.events.retry")
+public record EventRetryProperties(
+        List<Duration> delays,
+        int partitions,
+        int replayMaxRecords,
+        String replayToken
+) {
+    public static final int TIERS = 3;
+
+    public EventRetryProperties {
+        if (delays == null || delays.isEmpty()) {
+            delays = List.of(Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofMinutes(2));
+        }
+        if (delays.size() != TIERS) {
+            throw new IllegalStateException("vidops.user.events.retry.delays must have " + TIERS + " entries");
+        }
+        for (Duration d : delays) {
+            if (d.compareTo(Duration.ofMinutes(4)) > 0) {
+                throw new IllegalStateException("vidops.user.events.retry.delays must be <= 4m (max.poll.interval.ms)");
+            }
+        }
+        if (partitions <= 0) partitions = 3;
+        if (replayMaxRecords <= 0) replayMaxRecords = 10_000;
+    }
+
+    public boolean replayEnabled() {
+        return replayToken != null && !replayToken.isBlank();
+    }
+
+    public Duration delay(int tier) {
+        return delays.get(tier - 1);
+    }
+}
@@ -1,4 +1,17 @@
 package com.vidops.user.config;
 
-public class InternalKeyProperties {
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Gateway ile servisler arasında paylaşılan anahtar. Gateway doğruladığı token'dan
+ * X-Vidops-Identity header'ını bu anahtarla imzalar; boşsa header yok sayılır ve
+ * bearer token her istekte servis içinde doğrulanır.
+ */
+@ConfigurationProperties(prefix = "vidops.security.internal")
+public record InternalKeyProperties(
+        String keyBase64
+) {
+    public boolean enabled() {
+        return keyBase64 != null && !keyBase64.isBlank();
+    }
 }
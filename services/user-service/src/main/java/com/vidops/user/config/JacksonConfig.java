@@ -3,6 +3,7 @@ package com.vidops.user.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vidops.events.UserEventCodec;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -16,4 +17,10 @@ public class JacksonConfig {
         om.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         return om;
     }
+
+    // consumer tarafı: format payload'dan anlaşılır (binary v1 veya eski JSON)
+    @Bean
+    public UserEventCodec userEventCodec(ObjectMapper objectMapper) {
+        return new UserEventCodec(objectMapper, UserEventCodec.WireFormat.BINARY);
+    }
 }
@@ -0,0 +1,60 @@
+package com.vidops.user.config;
+
+import com.vidops.user.user.events.ParallelUserEventConsumer;
+import com.vidops.user.user.events.parallel.KeyOrderedDispatcher;
+import com.vidops.user.user.events.retry.EventRetryRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Collection;
+
+@Configuration
+@EnableConfigurationProperties(ParallelConsumerProperties.class)
+@ConditionalOnProperty(name = "vidops.user.events.parallel.enabled", havingValue = "true")
+public class ParallelConsumerConfig {
+
+    @Bean
+    public KeyOrderedDispatcher keyOrderedDispatcher(KafkaListenerEndpointRegistry registry,
+                                                     ParallelConsumerProperties props,
+                                                     EventRetryRouter router,
+                                                     MeterRegistry meterRegistry) {
+        return new KeyOrderedDispatcher(registry, ParallelUserEventConsumer.LISTENER_ID, props, router, meterRegistry);
+    }
+
+    /**
+     * Consumer thread'i sadece poll eder ve dağıtır; commit'ler dispatcher'ın ack'leriyle
+     * (MANUAL) ilerler. Rebalance listener bean olarak tanımlanmaz, yoksa Boot onu
+     * varsayılan factory'ye de bağlar.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> parallelKafkaListenerContainerFactory(
+            ConsumerFactory<String, byte[]> consumerFactory,
+            KeyOrderedDispatcher dispatcher
+    ) {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                dispatcher.onPartitionsRevoked(partitions);
+            }
+
+            @Override
+            public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                dispatcher.onPartitionsRevoked(partitions);
+            }
+        });
+        return factory;
+    }
+}
@@ -0,0 +1,26 @@
+package com.vidops.user.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * user.registered / user.deleted için paralel tüketim modu. Kapalıyken batch listener'lar çalışır.
+ *
+ * maxPendingPerPartition: bir partition'da dağıtılmış ama commit edilmemiş kayıt sınırı; aşılınca
+ * partition pause edilir, yarısına inince resume edilir. Bir poll'daki kayıtlar yine de dağıtılır,
+ * yani sınır en fazla max-poll-records kadar aşılır.
+ */
+@ConfigurationProperties(prefix = "vidops.user.events.parallel")
+public record ParallelConsumerProperties(
+        boolean enabled,
+        int maxPendingPerPartition,
+        int retryAttempts,
+        Duration retryBackoff
+) {
+    public ParallelConsumerProperties {
+        if (maxPendingPerPartition <= 0) maxPendingPerPartition = 1000;
+        if (retryAttempts <= 0) retryAttempts = 5;
+        if (retryBackoff == null) retryBackoff = Duration.ofSeconds(1);
+    }
+}
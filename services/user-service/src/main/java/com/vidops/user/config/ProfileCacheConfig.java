@@ -0,0 +1,39 @@
+package com.vidops.user.config;
+
+import com.vidops.user.user.cache.ProfileCache;
+import com.vidops.user.user.cache.ProfileCacheInvalidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties(ProfileCacheProperties.class)
+public class ProfileCacheConfig {
+
+    @Bean
+    public ProfileCache profileCache(ProfileCacheProperties props, MeterRegistry meterRegistry) {
+        // arka plan yenilemeleri DB havuzunu doldurmasın diye az thread ve sınırlı kuyruk;
+        // kuyruk doluysa istek eski değerle cevaplanır, yenileme sonraki isteğe kalır
+        ThreadPoolExecutor refresher = new ThreadPoolExecutor(
+                props.refreshThreads(), props.refreshThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1000),
+                Thread.ofPlatform().name("profile-refresh-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        return new ProfileCache(props, refresher, meterRegistry);
+    }
+
+    @Bean
+    public ProfileCacheInvalidator profileCacheInvalidator(ProfileCache profileCache,
+                                                           KafkaTemplate<String, byte[]> kafkaTemplate,
+                                                           ProfileCacheProperties props,
+                                                           MeterRegistry meterRegistry) {
+        return new ProfileCacheInvalidator(profileCache, kafkaTemplate, props, meterRegistry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.vidops.user.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /account ve GET /api/users/{id} cevaplarının bellek içi cache'i.
+ *
+ * ttl boyunca giriş taze sayılır. Sonraki staleWhileRevalidate süresince eski değer dönülür ve
+ * arka planda yenilenir; staleIfError süresince de Postgres hata verirse eski değer dönülür.
+ * Yazmalar commit sonrası yerelde silinir ve invalidationTopic üzerinden diğer replikalara yayılır.
+ */
+@ConfigurationProperties(prefix = "vidops.user.profile-cache")
+public record ProfileCacheProperties(
+        Boolean enabled,
+        int maxEntries,
+        Duration ttl,
+        Duration staleWhileRevalidate,
+        Duration staleIfError,
+        int refreshThreads,
+        String invalidationTopic
+) {
+    public ProfileCacheProperties {
+        if (enabled == null) enabled = true;
+        if (maxEntries <= 0) maxEntries = 100_000;
+        if (ttl == null) ttl = Duration.ofSeconds(60);
+        if (staleWhileRevalidate == null) staleWhileRevalidate = Duration.ofMinutes(5);
+        if (staleIfError == null) staleIfError = Duration.ofMinutes(30);
+        if (refreshThreads <= 0) refreshThreads = 2;
+        if (invalidationTopic == null || invalidationTopic.isBlank()) invalidationTopic = "user.cache-invalidation";
+    }
+}
@@ -1,6 +1,11 @@
 package com.vidops.user.config;
 
+import com.vidops.security.CachingJwtDecoder;
+import com.vidops.security.InternalIdentityAuthenticationFilter;
+import com.vidops.security.InternalIdentityCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,6 +13,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
 import javax.crypto.SecretKey;
@@ -15,13 +21,27 @@ import javax.crypto.spec.SecretKeySpec;
 import java.util.Base64;
 
 @Configuration
+@EnableConfigurationProperties(InternalKeyProperties.class)
 public class SecurityConfig {
 
     @Value("${vidops.security.jwt.secret-base64:}")
     private String secretBase64;
 
+    // 0 -> cache kapalı, her istekte imza doğrulanır
+    @Value("${vidops.security.jwt.decoder-cache-size:10000}")
+    private int decoderCacheSize;
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   JwtDecoder jwtDecoder,
+                                                   InternalKeyProperties internalKey) throws Exception {
+        // gateway token'ı doğrulamışsa imzalı kimlik header'ı yeterli, JWT tekrar decode edilmez
+        if (internalKey.enabled()) {
+            http.addFilterBefore(
+                    new InternalIdentityAuthenticationFilter(InternalIdentityCodec.fromBase64(internalKey.keyBase64())),
+                    BearerTokenAuthenticationFilter.class);
+        }
+
         return http
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -30,21 +50,26 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         .requestMatchers("/actuator/**").permitAll()
+                        // DltReplayController kendi admin token'ını doğrular
+                        .requestMatchers("/internal/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(jwt -> jwt.decoder(jwtDecoder()))
+                        .jwt(jwt -> jwt.decoder(jwtDecoder))
                 )
                 .build();
     }
 
     @Bean
-    public JwtDecoder jwtDecoder() {
+    public JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
         if (secretBase64 == null || secretBase64.isBlank()) {
             throw new IllegalStateException("vidops.security.jwt.secret-base64 is empty. Set JWT_SECRET_BASE64 in docker-compose/.env");
         }
         byte[] keyBytes = Base64.getDecoder().decode(secretBase64);
         SecretKey key = new SecretKeySpec(keyBytes, "HmacSHA256");
-        return NimbusJwtDecoder.withSecretKey(key).build();
+        JwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(key).build();
+        return decoderCacheSize > 0
+                ? new CachingJwtDecoder(nimbus, decoderCacheSize, meterRegistry, "access")
+                : nimbus;
     }
 }
@@ -0,0 +1,184 @@
+package com.vidops.user.user.cache;
+
+import com.vidops.user.config.ProfileCacheProperties;
+import com.vidops.user.user.web.dto.UserResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * UserResponse'ları user id ile tutan read-through cache.
+ *
+ * Taze giriş doğrudan döner. ttl geçmiş ama staleWhileRevalidate içindeki giriş yine döner ve
+ * key başına tek bir arka plan yenilemesi başlatılır. Giriş yoksa ya da çok eskiyse DB'den okunur;
+ * DB hata verirse staleIfError içindeki eski giriş dönülür. Bulunamayan kullanıcılar cache'lenmez.
+ *
+ * maxEntries aşılınca önce tutma süresi dolmuşlar, gerekirse rastgele girişler atılır.
+ */
+public class ProfileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileCache.class);
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long revalidateNanos;
+    private final long staleIfErrorNanos;
+    private final long retainNanos;
+    private final Executor refresher;
+
+    // key'in evict sayacı (id hash'ine göre stripe'lı, bellek sabit); okuma sürerken aynı key
+    // evict olduysa okunan değer cache'e yazılmaz. Başka key'lerin evict'leri okumaları etkilemez.
+    private static final int EPOCH_STRIPES = 4096;
+
+    private final Map<UUID, Entry> cache = new ConcurrentHashMap<>();
+    private final AtomicLongArray epochs = new AtomicLongArray(EPOCH_STRIPES);
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter staleOnError;
+    private final Counter refreshFailures;
+
+    public ProfileCache(ProfileCacheProperties props, Executor refresher, MeterRegistry meterRegistry) {
+        this.enabled = props.enabled();
+        this.maxEntries = props.maxEntries();
+        this.ttlNanos = props.ttl().toNanos();
+        this.revalidateNanos = ttlNanos + props.staleWhileRevalidate().toNanos();
+        this.staleIfErrorNanos = ttlNanos + props.staleIfError().toNanos();
+        this.retainNanos = Math.max(revalidateNanos, staleIfErrorNanos);
+        this.refresher = refresher;
+
+        this.hits = meterRegistry.counter("vidops.user.profile.cache", "result", "hit");
+        this.staleHits = meterRegistry.counter("vidops.user.profile.cache", "result", "stale");
+        this.misses = meterRegistry.counter("vidops.user.profile.cache", "result", "miss");
+        this.staleOnError = meterRegistry.counter("vidops.user.profile.cache", "result", "stale_on_error");
+        this.refreshFailures = meterRegistry.counter("vidops.user.profile.cache.refresh.failures");
+        meterRegistry.gaugeMapSize("vidops.user.profile.cache.size", Tags.empty(), cache);
+    }
+
+    public Optional<UserResponse> get(UUID id, Supplier<Optional<UserResponse>> loader) {
+        if (!enabled) return loader.get();
+
+        long now = System.nanoTime();
+        Entry entry = cache.get(id);
+        if (entry != null) {
+            long age = now - entry.loadedAtNanos();
+            if (age < ttlNanos) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            if (age < revalidateNanos) {
+                staleHits.increment();
+                refreshAsync(id, entry, loader);
+                return Optional.of(entry.value());
+            }
+        }
+
+        misses.increment();
+        long startEpoch = epoch(id);
+        try {
+            Optional<UserResponse> loaded = loader.get();
+            if (loaded.isPresent()) {
+                put(id, loaded.get(), startEpoch);
+            } else if (entry != null) {
+                cache.remove(id, entry);
+            }
+            return loaded;
+        } catch (DataAccessException | TransactionException e) {
+            if (entry != null && System.nanoTime() - entry.loadedAtNanos() < staleIfErrorNanos) {
+                staleOnError.increment();
+                log.warn("Profile load failed for {}, serving stale copy: {}", id, e.getMessage());
+                return Optional.of(entry.value());
+            }
+            throw e;
+        }
+    }
+
+    public void evict(UUID id) {
+        epochs.incrementAndGet(stripe(id));
+        cache.remove(id);
+    }
+
+    private long epoch(UUID id) {
+        return epochs.get(stripe(id));
+    }
+
+    private static int stripe(UUID id) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (EPOCH_STRIPES - 1);
+    }
+
+    private void refreshAsync(UUID id, Entry entry, Supplier<Optional<UserResponse>> loader) {
+        if (!entry.refreshing().compareAndSet(false, true)) return;
+
+        long startEpoch = epoch(id);
+        try {
+            refresher.execute(() -> {
+                try {
+                    Optional<UserResponse> loaded = loader.get();
+                    if (loaded.isEmpty()) {
+                        cache.remove(id, entry);
+                    } else if (!put(id, loaded.get(), startEpoch)) {
+                        entry.refreshing().set(false);
+                    }
+                } catch (RuntimeException e) {
+                    refreshFailures.increment();
+                    entry.refreshing().set(false);
+                    log.debug("Background profile refresh failed for {}", id, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // kuyruk dolu; sonraki istek tekrar dener
+            entry.refreshing().set(false);
+        }
+    }
+
+    private boolean put(UUID id, UserResponse value, long startEpoch) {
+        if (epoch(id) != startEpoch) return false;
+
+        long now = System.nanoTime();
+        if (cache.size() >= maxEntries) trim(now);
+
+        Entry entry = new Entry(value, now, new AtomicBoolean());
+        cache.put(id, entry);
+        // put ile kontrol arasında evict geldiyse eski değeri bırakma
+        if (epoch(id) != startEpoch) {
+            cache.remove(id, entry);
+            return false;
+        }
+        return true;
+    }
+
+    private void trim(long now) {
+        cache.values().removeIf(e -> now - e.loadedAtNanos() >= retainNanos);
+
+        if (cache.size() < maxEntries) return;
+
+        // ~%10 yer aç; ConcurrentHashMap sırası hash'e göre, yani pratikte rastgele
+        int excess = Math.max(1, maxEntries / 10);
+        Iterator<UUID> it = cache.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private record Entry(UserResponse value, long loadedAtNanos, AtomicBoolean refreshing) {
+    }
+}
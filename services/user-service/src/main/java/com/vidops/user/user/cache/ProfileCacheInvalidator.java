@@ -0,0 +1,105 @@
+package com.vidops.user.user.cache;
+
+import com.vidops.user.config.ProfileCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Profil yazmalarından sonra cache'i temizler.
+ *
+ * Silme transaction commit'inden sonra yapılır; öncesinde yapılsa araya giren bir okuma eski
+ * satırı tekrar cache'e koyabilirdi. Yerel cache hemen temizlenir, diğer replikalara
+ * invalidation topic'i ile haber verilir (key: user id, value: gönderen instance id).
+ * Publish başarısız olursa diğer replikalar en fazla ttl kadar eski değer görür.
+ */
+public class ProfileCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileCacheInvalidator.class);
+
+    private final ProfileCache cache;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final boolean enabled;
+    private final String topic;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final byte[] instanceIdBytes = instanceId.getBytes(StandardCharsets.UTF_8);
+
+    private final Counter localEvictions;
+    private final Counter remoteEvictions;
+    private final Counter publishFailures;
+
+    public ProfileCacheInvalidator(ProfileCache cache,
+                                   KafkaTemplate<String, byte[]> kafkaTemplate,
+                                   ProfileCacheProperties props,
+                                   MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.kafkaTemplate = kafkaTemplate;
+        this.enabled = props.enabled();
+        this.topic = props.invalidationTopic();
+        this.localEvictions = meterRegistry.counter("vidops.user.profile.cache.invalidations", "source", "local");
+        this.remoteEvictions = meterRegistry.counter("vidops.user.profile.cache.invalidations", "source", "remote");
+        this.publishFailures = meterRegistry.counter("vidops.user.profile.cache.invalidations.publish.failures");
+    }
+
+    /**
+     * Bu replikanın id'si; invalidation consumer'ının group id'si de bundan türetilir,
+     * böylece her replika topic'teki tüm mesajları alır.
+     */
+    public String instanceId() {
+        return instanceId;
+    }
+
+    public void evictAfterCommit(UUID... ids) {
+        if (!enabled) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAndPublish(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictAndPublish(ids);
+            }
+        });
+    }
+
+    /**
+     * Topic'ten gelen silme. Kendi gönderdiklerimiz zaten yerelde silindi; tekrar silmek
+     * arada yeniden yüklenmiş taze girişi boşa atardı.
+     */
+    public void onRemoteEviction(UUID id, byte[] origin) {
+        if (origin != null && Arrays.equals(origin, instanceIdBytes)) return;
+        remoteEvictions.increment();
+        cache.evict(id);
+    }
+
+    private void evictAndPublish(UUID... ids) {
+        for (UUID id : ids) {
+            if (id == null) continue;
+            localEvictions.increment();
+            cache.evict(id);
+            try {
+                kafkaTemplate.send(topic, id.toString(), instanceIdBytes)
+                        .whenComplete((result, ex) -> {
+                            if (ex != null) onPublishFailure(id, ex);
+                        });
+            } catch (RuntimeException e) {
+                // metadata alınamadıysa send senkron hata fırlatır; yazma zaten commit edildi
+                onPublishFailure(id, e);
+            }
+        }
+    }
+
+    private void onPublishFailure(UUID id, Throwable ex) {
+        publishFailures.increment();
+        log.warn("Failed to publish profile cache invalidation for {}: {}", id, ex.getMessage());
+    }
+}
@@ -0,0 +1,50 @@
+package com.vidops.user.user.events;
+
+import com.vidops.user.user.events.parallel.KeyOrderedDispatcher;
+import com.vidops.user.user.events.retry.EventRetryRouter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Paralel mod (vidops.user.events.parallel.enabled=true): iki topic tek listener'dan okunur,
+ * kayıtlar user id key'ine göre sıralı, key'ler arası paralel işlenir. Kapalıyken
+ * UserRegisteredConsumer / UserDeletedConsumer (batch) çalışır.
+ *
+ * Aynı user id için registered ve deleted event'leri de geliş sırasıyla uygulanır.
+ */
+@Component
+@ConditionalOnProperty(name = "vidops.user.events.parallel.enabled", havingValue = "true")
+public class ParallelUserEventConsumer {
+
+    public static final String LISTENER_ID = "user-events-parallel";
+
+    private final UserEventApplier applier;
+    private final EventRetryRouter router;
+    private final KeyOrderedDispatcher dispatcher;
+
+    public ParallelUserEventConsumer(UserEventApplier applier, EventRetryRouter router, KeyOrderedDispatcher dispatcher) {
+        this.applier = applier;
+        this.router = router;
+        this.dispatcher = dispatcher;
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = {UserEventApplier.USER_REGISTERED, UserEventApplier.USER_DELETED},
+            groupId = "user-service",
+            containerFactory = "parallelKafkaListenerContainerFactory"
+    )
+    public void onMessage(ConsumerRecord<String, byte[]> record, Acknowledgment ack) {
+        Runnable work;
+        try {
+            work = applier.prepare(record.topic(), record.value());
+        } catch (Exception ex) {
+            // tekrar denemek düzeltmez; kayıt doğrudan DLT'ye gider, offset diğerleri gibi watermark ile ilerler
+            work = () -> router.accept(record, ex);
+        }
+        dispatcher.dispatch(record, ack, work);
+    }
+}
@@ -0,0 +1,46 @@
+package com.vidops.user.user.events;
+
+import com.vidops.user.user.cache.ProfileCacheInvalidator;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Diğer replikalardaki profil yazmalarını dinler.
+ *
+ * Her replika kendi group id'siyle bağlanır (broadcast). Yeni açılan replikanın cache'i boş
+ * olduğundan geçmiş mesajlara ihtiyaç yok, en sondan başlar.
+ */
+@Component
+public class ProfileCacheInvalidationConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileCacheInvalidationConsumer.class);
+
+    private final ProfileCacheInvalidator invalidator;
+
+    public ProfileCacheInvalidationConsumer(ProfileCacheInvalidator invalidator) {
+        this.invalidator = invalidator;
+    }
+
+    @KafkaListener(
+            topics = "${vidops.user.profile-cache.invalidation-topic:user.cache-invalidation}",
+            groupId = "user-service-cache-#{@profileCacheInvalidator.instanceId()}",
+            autoStartup = "${vidops.user.profile-cache.enabled:true}",
+            properties = "auto.offset.reset=latest"
+    )
+    public void onMessage(ConsumerRecord<String, byte[]> record) {
+        UUID id;
+        try {
+            id = UUID.fromString(record.key());
+        } catch (RuntimeException e) {
+            // bozuk mesaj yüzünden partition'ı tıkamayalım
+            log.warn("Ignoring profile cache invalidation with invalid key: {}", record.key());
+            return;
+        }
+        invalidator.onRemoteEviction(id, record.value());
+    }
+}
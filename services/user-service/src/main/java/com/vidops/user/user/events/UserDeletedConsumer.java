@@ -1,28 +1,67 @@
 package com.vidops.user.user.events;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vidops.events.UserDeletedEvent;
+import com.vidops.events.UserEventCodec;
 import com.vidops.user.user.service.UserService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 @Component
 public class UserDeletedConsumer {
 
-    private final ObjectMapper objectMapper;
+    private final UserEventCodec codec;
     private final UserService userService;
 
-    public UserDeletedConsumer(ObjectMapper objectMapper, UserService userService) {
-        this.objectMapper = objectMapper;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary appliedSize;
+    private final Timer applyLatency;
+
+    public UserDeletedConsumer(UserEventCodec codec, UserService userService, MeterRegistry meterRegistry) {
+        this.codec = codec;
         this.userService = userService;
+        this.batchSize = DistributionSummary.builder("vidops.user.events.batch.size")
+                .tag("topic", "user.deleted").tag("stage", "polled").register(meterRegistry);
+        this.appliedSize = DistributionSummary.builder("vidops.user.events.batch.size")
+                .tag("topic", "user.deleted").tag("stage", "applied").register(meterRegistry);
+        this.applyLatency = Timer.builder("vidops.user.events.batch.apply")
+                .tag("topic", "user.deleted").register(meterRegistry);
     }
 
-    @KafkaListener(topics = "user.deleted", groupId = "user-service")
-    public void onMessage(byte[] payload) {
-        try {
-            UserDeletedEvent e = objectMapper.readValue(payload, UserDeletedEvent.class);
-            userService.delete(e.userId());
-        } catch (Exception ex) {
-            throw new RuntimeException("Failed to consume user.deleted", ex);
+    /**
+     * Poll'daki tüm silmeler tek DELETE ... WHERE id = ANY(?) ile uygulanır.
+     * Decode edilemeyen kayıtta davranış UserRegisteredConsumer ile aynı.
+     */
+    @KafkaListener(topics = "user.deleted", groupId = "user-service", batch = "true",
+            autoStartup = "#{!${vidops.user.events.parallel.enabled:false}}")
+    public void onMessages(List<ConsumerRecord<String, byte[]>> records) {
+        batchSize.record(records.size());
+
+        Set<UUID> ids = new LinkedHashSet<>();
+        RuntimeException decodeFailure = null;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                UserDeletedEvent e = codec.decodeDeleted(record.value());
+                ids.add(e.userId());
+            } catch (Exception ex) {
+                decodeFailure = new BatchListenerFailedException("Failed to decode user.deleted", ex, record);
+                break;
+            }
+        }
+
+        if (!ids.isEmpty()) {
+            appliedSize.record(ids.size());
+            applyLatency.record(() -> userService.deleteAll(ids));
         }
+        if (decodeFailure != null) throw decodeFailure;
     }
 }
@@ -1,9 +0,0 @@
-package com.vidops.user.user.events;
-
-import java.time.Instant;
-import java.util.UUID;
-
-public record UserDeletedEvent(
-        UUID userId,
-        Instant timestamp
-) {}
@@ -0,0 +1,59 @@
+package com.vidops.user.user.events;
+
+import com.vidops.events.UserDeletedEvent;
+import com.vidops.events.UserEventCodec;
+import com.vidops.events.UserRegisteredEvent;
+import com.vidops.user.user.exception.UserNotFoundException;
+import com.vidops.user.user.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tek bir event'i decode edip uygular. Kayıt kayıt çalışan yollar (paralel mod, retry topic'leri)
+ * ortak kullanır; batch listener'lar event'leri toplu uygular.
+ *
+ * Silinmiş kullanıcının user.registered event'i tombstone yüzünden yazılmaz ve hata sayılmaz.
+ */
+@Component
+public class UserEventApplier {
+
+    public static final String USER_REGISTERED = "user.registered";
+    public static final String USER_DELETED = "user.deleted";
+
+    private static final Logger log = LoggerFactory.getLogger(UserEventApplier.class);
+
+    private final UserEventCodec codec;
+    private final UserService userService;
+
+    public UserEventApplier(UserEventCodec codec, UserService userService) {
+        this.codec = codec;
+        this.userService = userService;
+    }
+
+    /**
+     * Payload'ı hemen decode eder (bozuksa burada hata fırlatır), yazmayı döndürür.
+     *
+     * @param topic event'in asıl topic'i (retry/DLT topic'i değil)
+     */
+    public Runnable prepare(String topic, byte[] payload) {
+        return switch (topic) {
+            case USER_REGISTERED -> {
+                UserRegisteredEvent e = codec.decodeRegistered(payload);
+                yield () -> {
+                    try {
+                        userService.upsertFromAuth(e.userId(), e.email(), e.fullName(), e.timestamp());
+                    } catch (UserNotFoundException deleted) {
+                        // user.deleted'dan sonra gelen (retry / DLT replay) eski event: atlanır
+                        log.info("Skipping user.registered for deleted user {}", e.userId());
+                    }
+                };
+            }
+            case USER_DELETED -> {
+                UserDeletedEvent e = codec.decodeDeleted(payload);
+                yield () -> userService.delete(e.userId());
+            }
+            default -> throw new IllegalArgumentException("Unknown user event topic: " + topic);
+        };
+    }
+}
@@ -1,39 +1,112 @@
 package com.vidops.user.user.events;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vidops.events.UserEventCodec;
+import com.vidops.events.UserRegisteredEvent;
+import com.vidops.user.user.exception.UserNotFoundException;
 import com.vidops.user.user.service.UserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @Component
 public class UserRegisteredConsumer {
 
-    private final ObjectMapper objectMapper;
+    private static final Logger log = LoggerFactory.getLogger(UserRegisteredConsumer.class);
+
+    private final UserEventCodec codec;
     private final UserService userService;
 
-    public UserRegisteredConsumer(ObjectMapper objectMapper, UserService userService) {
-        this.objectMapper = objectMapper;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary appliedSize;
+    private final Timer applyLatency;
+    private final Counter fallbacks;
+
+    public UserRegisteredConsumer(UserEventCodec codec, UserService userService, MeterRegistry meterRegistry) {
+        this.codec = codec;
         this.userService = userService;
+        this.batchSize = DistributionSummary.builder("vidops.user.events.batch.size")
+                .tag("topic", "user.registered").tag("stage", "polled").register(meterRegistry);
+        this.appliedSize = DistributionSummary.builder("vidops.user.events.batch.size")
+                .tag("topic", "user.registered").tag("stage", "applied").register(meterRegistry);
+        this.applyLatency = Timer.builder("vidops.user.events.batch.apply")
+                .tag("topic", "user.registered").register(meterRegistry);
+        this.fallbacks = meterRegistry.counter("vidops.user.events.batch.fallback", "topic", "user.registered");
     }
 
     /**
      * BU bir controller değil.
-     * Kafka consumer thread'i bu metodu, topic'e mesaj gelince otomatik çağırır.
+     * Kafka consumer thread'i bu metodu her poll'da gelen kayıtların tamamıyla çağırır.
+     *
+     * Aynı kullanıcıya ait event'lerden sonuncusu kalır, batch tek upsert sorgusuyla yazılır.
+     * Decode edilemeyen kayıtta ondan önceki kayıtlar yazılır ve hata o kaydın index'iyle
+     * fırlatılır; error handler öncekilerin offset'ini commit edip o kayıttan devam eder.
      */
-    @KafkaListener(topics = "user.registered", groupId = "user-service")
-    public void onMessage(byte[] payload) {
+    @KafkaListener(topics = "user.registered", groupId = "user-service", batch = "true",
+            autoStartup = "#{!${vidops.user.events.parallel.enabled:false}}")
+    public void onMessages(List<ConsumerRecord<String, byte[]>> records) {
+        batchSize.record(records.size());
+
+        Map<UUID, Indexed> latest = new LinkedHashMap<>();
+        RuntimeException decodeFailure = null;
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                UserRegisteredEvent e = codec.decodeRegistered(records.get(i).value());
+                Indexed previous = latest.remove(e.userId());
+                latest.put(e.userId(), new Indexed(i, e.after(previous == null ? null : previous.event())));
+            } catch (Exception ex) {
+                decodeFailure = new BatchListenerFailedException("Failed to decode user.registered", ex, records.get(i));
+                break;
+            }
+        }
+
+        apply(records, new ArrayList<>(latest.values()));
+        if (decodeFailure != null) throw decodeFailure;
+    }
+
+    private void apply(List<ConsumerRecord<String, byte[]>> records, List<Indexed> events) {
+        if (events.isEmpty()) return;
+        appliedSize.record(events.size());
+
+        List<UserRegisteredEvent> batch = events.stream().map(Indexed::event).toList();
         try {
-            UserRegisteredEvent e = objectMapper.readValue(payload, UserRegisteredEvent.class);
-
-            userService.upsertFromAuth(
-                    e.userId(),
-                    e.email(),
-                    e.fullName(),
-                    e.timestamp()
-            );
-        } catch (Exception ex) {
-            // Prod'da: log + DLQ (dead letter queue) düşünülür.
-            throw new RuntimeException("Failed to consume user.registered", ex);
+            applyLatency.record(() -> userService.upsertFromAuthBatch(batch));
+        } catch (DataIntegrityViolationException ex) {
+            // batch içi veya eşzamanlı bir yazmayla çakışma: kayıt kayıt eski yola düş
+            fallbacks.increment();
+            log.warn("Batch upsert of {} user.registered events failed, applying one by one: {}",
+                    batch.size(), ex.getMessage());
+            applyOneByOne(records, events);
         }
     }
+
+    private void applyOneByOne(List<ConsumerRecord<String, byte[]>> records, List<Indexed> events) {
+        for (Indexed indexed : events) {
+            UserRegisteredEvent e = indexed.event();
+            try {
+                userService.upsertFromAuth(e.userId(), e.email(), e.fullName(), e.timestamp());
+            } catch (UserNotFoundException deleted) {
+                // silinmiş kullanıcı (tombstone): eski event atlanır
+                log.info("Skipping user.registered for deleted user {}", e.userId());
+            } catch (Exception ex) {
+                throw new BatchListenerFailedException("Failed to consume user.registered", ex, records.get(indexed.index()));
+            }
+        }
+    }
+
+    private record Indexed(int index, UserRegisteredEvent event) {
+    }
 }
@@ -0,0 +1,188 @@
+package com.vidops.user.user.events.parallel;
+
+import com.vidops.user.config.ParallelConsumerProperties;
+import com.vidops.user.user.events.retry.EventRetryRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kafka kayıtlarını virtual thread'lerde işler.
+ *
+ * Aynı key'e (user id) sahip kayıtlar geliş sırasıyla, biri bitmeden diğeri başlamadan çalışır;
+ * farklı key'ler paralel çalışır. Offset'ler partition başına kesintisiz biten son kayda kadar
+ * ack'lenir (PartitionWatermark), yani commit edilmiş bir offset'in öncesinde bitmemiş kayıt kalmaz.
+ * Hata alan kayıt retryAttempts kadar denenir, sonra recoverer'a (retry topic'i / DLT) verilir;
+ * o süre boyunca aynı key'in sonraki kayıtları bekler. Altyapı hataları
+ * (EventRetryRouter.isTransient) bu sayıya girmez: kayıt yerinde, en fazla 30 adımlık artan
+ * aralıklarla Postgres dönene kadar denenir; kesinti DLT'yi doldurmaz. Recoverer da hata verirse (Kafka'ya
+ * yazılamıyor) başarılı olana kadar tekrar denenir, kayıt ack'lenmeden atlanmaz.
+ *
+ * Rebalance'ta geri alınan partition'ların takibi bırakılır; o partition'ların bitmemiş kayıtları
+ * yeni sahibinde tekrar işlenir (at-least-once).
+ */
+public class KeyOrderedDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(KeyOrderedDispatcher.class);
+
+    private final KafkaListenerEndpointRegistry registry;
+    private final String listenerId;
+    private final int maxPending;
+    private final int retryAttempts;
+    private final long retryBackoffMillis;
+    private final ConsumerRecordRecoverer recoverer;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, PartitionWatermark> watermarks = new ConcurrentHashMap<>();
+    private final Set<TopicPartition> paused = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter pauses;
+
+    public KeyOrderedDispatcher(KafkaListenerEndpointRegistry registry,
+                                String listenerId,
+                                ParallelConsumerProperties props,
+                                ConsumerRecordRecoverer recoverer,
+                                MeterRegistry meterRegistry) {
+        this.registry = registry;
+        this.listenerId = listenerId;
+        this.maxPending = props.maxPendingPerPartition();
+        this.retryAttempts = props.retryAttempts();
+        this.retryBackoffMillis = props.retryBackoff().toMillis();
+        this.recoverer = recoverer;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("vidops.user.events.parallel.inflight", inflight, AtomicInteger::get).register(meterRegistry);
+        meterRegistry.gaugeCollectionSize("vidops.user.events.parallel.paused", Tags.empty(), paused);
+        this.pauses = meterRegistry.counter("vidops.user.events.parallel.pauses");
+    }
+
+    /**
+     * Consumer thread'inden çağrılır; work asenkron çalışır.
+     */
+    public void dispatch(ConsumerRecord<String, byte[]> record, Acknowledgment ack, Runnable work) {
+        TopicPartition tp = new TopicPartition(record.topic(), record.partition());
+        PartitionWatermark watermark = watermarks.computeIfAbsent(tp, k -> new PartitionWatermark());
+        watermark.track(record.offset(), ack);
+        inflight.incrementAndGet();
+
+        if (watermark.size() >= maxPending && paused.add(tp)) {
+            pauses.increment();
+            container().pausePartition(tp);
+        }
+
+        // key'siz kayıtlar sıra gerektirmez, kendi zincirlerinde çalışır
+        String key = record.key() != null ? record.key() : tp + "@" + record.offset();
+        Runnable task = () -> {
+            runWithRetry(record, work);
+            complete(tp, watermark, record.offset());
+        };
+
+        CompletableFuture<Void> tail = tails.compute(key, (k, previous) -> previous == null
+                ? CompletableFuture.runAsync(task, executor)
+                : previous.exceptionally(e -> null).thenRunAsync(task, executor));
+        tail.whenComplete((r, e) -> tails.remove(key, tail));
+    }
+
+    /**
+     * Rebalance listener'dan (consumer thread'i) çağrılır.
+     */
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        for (TopicPartition tp : partitions) {
+            watermarks.remove(tp);
+            // tekrar atanırsa pause'lu başlamasın
+            if (paused.remove(tp)) container().resumePartition(tp);
+        }
+    }
+
+    private void runWithRetry(ConsumerRecord<String, byte[]> record, Runnable work) {
+        int failures = 0;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                work.run();
+                return;
+            } catch (RuntimeException e) {
+                boolean infra = EventRetryRouter.isTransient(e);
+                if (!infra && ++failures >= retryAttempts) {
+                    meterRegistry.counter("vidops.user.events.parallel.failures", "topic", record.topic()).increment();
+                    recover(record, e);
+                    return;
+                }
+                log.warn("Processing {}-{}@{} failed (attempt {}{}): {}", record.topic(), record.partition(), record.offset(),
+                        attempt, infra ? ", transient" : "", e.getMessage());
+                sleep(infra ? Math.min(attempt, 30) : failures, e);
+            }
+        }
+    }
+
+    private void recover(ConsumerRecord<String, byte[]> record, RuntimeException failure) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                recoverer.accept(record, failure);
+                return;
+            } catch (RuntimeException e) {
+                log.error("Recovering {}-{}@{} failed (attempt {}): {}", record.topic(), record.partition(), record.offset(), attempt, e.getMessage());
+                sleep(Math.min(attempt, 30), e);
+            }
+        }
+    }
+
+    private void sleep(int attempt, RuntimeException failure) {
+        try {
+            Thread.sleep(retryBackoffMillis * attempt);
+        } catch (InterruptedException ie) {
+            // kapanış: commit edilmez, kayıt tekrar işlenir
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    private void complete(TopicPartition tp, PartitionWatermark watermark, long offset) {
+        inflight.decrementAndGet();
+        // partition bu arada geri alındıysa ack'lenmez
+        if (watermarks.get(tp) != watermark) return;
+
+        Acknowledgment ack = watermark.complete(offset);
+        if (ack != null) ack.acknowledge();
+
+        if (watermark.size() <= maxPending / 2 && paused.remove(tp)) {
+            container().resumePartition(tp);
+        }
+    }
+
+    private MessageListenerContainer container() {
+        MessageListenerContainer container = registry.getListenerContainer(listenerId);
+        if (container == null) throw new IllegalStateException("No listener container with id " + listenerId);
+        return container;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.vidops.user.user.events.parallel;
+
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Tek partition'ın dağıtılmış ama commit edilmemiş kayıtları. Kayıtlar farklı sırada bitebilir;
+ * commit edilebilecek nokta baştan itibaren kesintisiz biten kayıtların sonuncusudur.
+ */
+final class PartitionWatermark {
+
+    private final NavigableMap<Long, Pending> pending = new TreeMap<>();
+
+    synchronized void track(long offset, Acknowledgment ack) {
+        pending.put(offset, new Pending(ack));
+    }
+
+    /**
+     * @return watermark ilerlediyse ack'lenecek son kaydın Acknowledgment'ı, yoksa null
+     */
+    synchronized Acknowledgment complete(long offset) {
+        Pending p = pending.get(offset);
+        if (p == null) return null;
+        p.done = true;
+
+        Acknowledgment last = null;
+        Map.Entry<Long, Pending> head;
+        while ((head = pending.firstEntry()) != null && head.getValue().done) {
+            last = pending.pollFirstEntry().getValue().ack;
+        }
+        return last;
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    private static final class Pending {
+        private final Acknowledgment ack;
+        private boolean done;
+
+        private Pending(Acknowledgment ack) {
+            this.ack = ack;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.vidops.user.user.events.retry;
+
+import com.vidops.user.user.exception.DltReplayInProgressException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * DLT'deki kayıtları asıl topic'e geri yazar (hata düzeltildikten sonra).
+ *
+ * Ayrı bir consumer group (user-service-dlt-replay) DLT'yi baştan okur; her poll'un kayıtları
+ * asıl topic'e yazılıp onaylandıktan sonra offset'leri commit edilir. Yani bir sonraki replay
+ * sadece o zamandan beri DLT'ye düşenleri görür; yarıda kalan replay kayıtları tekrar yazabilir
+ * (at-least-once). Retry header'ları taşınmaz: kayıt yeni gibi işlenir.
+ *
+ * Replay edilen kayıtlar, aynı user id'nin arada işlenmiş event'lerinden sonra uygulanır.
+ * Silinmiş kullanıcının user.registered'ı tombstone yüzünden profili tekrar açmaz; iki
+ * user.registered arasında ise replay edilen eski isim/email'i yazabilir.
+ */
+public class DltReplayService {
+
+    public static final String GROUP_ID = "user-service-dlt-replay";
+
+    private static final Logger log = LoggerFactory.getLogger(DltReplayService.class);
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public DltReplayService(ConsumerFactory<String, byte[]> consumerFactory,
+                            KafkaTemplate<String, byte[]> kafkaTemplate,
+                            MeterRegistry meterRegistry) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param topic asıl topic (ör. user.registered)
+     * @return geri yazılan kayıt sayısı
+     * @throws DltReplayInProgressException başka bir replay sürüyorsa
+     */
+    public int replay(String topic, int maxRecords) {
+        if (!lock.tryLock()) {
+            throw new DltReplayInProgressException();
+        }
+        try {
+            return doReplay(topic, EventRetryRouter.dltTopic(topic), maxRecords);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int doReplay(String topic, String dlt, int maxRecords) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.min(maxRecords, 500)));
+
+        int replayed = 0;
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(GROUP_ID, "dlt-replay", null, overrides)) {
+            List<PartitionInfo> partitions = consumer.partitionsFor(dlt);
+            if (partitions == null || partitions.isEmpty()) return 0;
+            // assign: group rebalance beklenmez, commit'ler yine GROUP_ID'ye yazılır
+            consumer.assign(partitions.stream().map(p -> new TopicPartition(dlt, p.partition())).toList());
+
+            while (replayed < maxRecords) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) break;
+
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                List<CompletableFuture<?>> sends = new ArrayList<>();
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    if (replayed == maxRecords) break;
+                    sends.add(kafkaTemplate.send(new ProducerRecord<>(topic, null, record.key(), record.value())));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()), new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+                consumer.commitSync(offsets);
+                meterRegistry.counter("vidops.user.events.dlt.replayed", "topic", topic).increment(sends.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("DLT replay interrupted", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to republish DLT records to " + topic, e);
+        }
+
+        log.info("Replayed {} records from {} to {}", replayed, dlt, topic);
+        return replayed;
+    }
+}
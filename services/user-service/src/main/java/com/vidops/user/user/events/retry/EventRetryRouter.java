@@ -0,0 +1,203 @@
+package com.vidops.user.user.events.retry;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.vidops.user.config.EventRetryProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerRecordRecoverer;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hata alan kaydı bir sonraki retry topic'ine ya da DLT'ye taşır; DefaultErrorHandler'ın
+ * recoverer'ıdır, paralel mod da doğrudan çağırır.
+ *
+ * Kayıt key'i ve payload'ı aynen gider; asıl topic/partition/offset, deneme sayısı ve hata
+ * bilgisi header olarak eklenir. Publish başarısız olursa hata fırlatılır: kayıt commit edilmez
+ * ve tekrar işlenir, yani kaybolmaz. topics dışındaki topic'lerin (ör. cache invalidation)
+ * kayıtları yönlendirilmez, loglanıp atlanır.
+ */
+public class EventRetryRouter implements ConsumerRecordRecoverer {
+
+    public static final String RETRY_SUFFIX = ".retry-";
+    public static final String DLT_SUFFIX = ".dlt";
+
+    public static final String ORIGINAL_TOPIC = "vidops-original-topic";
+    public static final String ORIGINAL_PARTITION = "vidops-original-partition";
+    public static final String ORIGINAL_OFFSET = "vidops-original-offset";
+    public static final String ATTEMPT = "vidops-attempt";
+    public static final String EXCEPTION_CLASS = "vidops-exception-class";
+    public static final String EXCEPTION_MESSAGE = "vidops-exception-message";
+    public static final String FAILED_AT = "vidops-failed-at";
+
+    private static final Logger log = LoggerFactory.getLogger(EventRetryRouter.class);
+    private static final int MAX_MESSAGE_LENGTH = 1024;
+
+    private final Set<String> topics;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public EventRetryRouter(Set<String> topics, KafkaTemplate<String, byte[]> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.topics = Set.copyOf(topics);
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Set<String> topics() {
+        return topics;
+    }
+
+    public static String retryTopic(String topic, int tier) {
+        return topic + RETRY_SUFFIX + tier;
+    }
+
+    public static String dltTopic(String topic) {
+        return topic + DLT_SUFFIX;
+    }
+
+    /**
+     * Retry topic'inden gelen kayıt için asıl topic; asıl topic'teki kayıt için kendisi.
+     */
+    public static String originalTopic(ConsumerRecord<?, ?> record) {
+        String header = header(record.headers(), ORIGINAL_TOPIC);
+        return header != null ? header : record.topic();
+    }
+
+    @Override
+    public void accept(ConsumerRecord<?, ?> record, Exception exception) {
+        Throwable cause = rootCause(exception);
+        String original = originalTopic(record);
+        if (!topics.contains(original)) {
+            log.error("Skipping failed record {}-{}@{}", record.topic(), record.partition(), record.offset(), exception);
+            return;
+        }
+        int attempt = parseInt(header(record.headers(), ATTEMPT), 0) + 1;
+
+        String destination = attempt > EventRetryProperties.TIERS || !isRetryable(cause)
+                ? dltTopic(original)
+                : retryTopic(original, attempt);
+
+        ProducerRecord<String, byte[]> out = new ProducerRecord<>(
+                destination, null, (String) record.key(), (byte[]) record.value());
+        Headers headers = out.headers();
+        // ilk hatadaki konum korunur; retry topic'indeki konum işe yaramaz
+        if (record.topic().equals(original)) {
+            headers.add(ORIGINAL_TOPIC, utf8(record.topic()));
+            headers.add(ORIGINAL_PARTITION, utf8(String.valueOf(record.partition())));
+            headers.add(ORIGINAL_OFFSET, utf8(String.valueOf(record.offset())));
+        } else {
+            copy(record.headers(), headers, ORIGINAL_TOPIC, ORIGINAL_PARTITION, ORIGINAL_OFFSET);
+        }
+        headers.add(ATTEMPT, utf8(String.valueOf(attempt)));
+        headers.add(EXCEPTION_CLASS, utf8(cause.getClass().getName()));
+        headers.add(EXCEPTION_MESSAGE, utf8(truncate(String.valueOf(cause.getMessage()))));
+        headers.add(FAILED_AT, utf8(Instant.now().toString()));
+
+        try {
+            kafkaTemplate.send(out).get(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing to " + destination, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to publish failed record to " + destination, e);
+        }
+
+        meterRegistry.counter("vidops.user.events.retry",
+                "topic", original,
+                "destination", destination.endsWith(DLT_SUFFIX) ? "dlt" : "retry-" + attempt).increment();
+        log.warn("Moved {}-{}@{} to {} (attempt {}): {}",
+                record.topic(), record.partition(), record.offset(), destination, attempt, cause.toString());
+    }
+
+    /**
+     * Bozuk payload veya geçersiz veri tekrar denemekle düzelmez; doğrudan DLT'ye gider.
+     */
+    private static boolean isRetryable(Throwable cause) {
+        return !(cause instanceof IllegalArgumentException
+                || cause instanceof JacksonException
+                || cause instanceof java.nio.BufferUnderflowException);
+    }
+
+    /**
+     * Hata kayıttan değil altyapıdan mı (Postgres'e bağlanılamıyor, transaction açılamıyor,
+     * timeout)? Öyleyse kayıt retry topic'ine taşınmaz, yerinde beklenip tekrar denenir;
+     * aksi halde kesinti süresince gelen her kayıt DLT'ye düşerdi.
+     */
+    public static boolean isTransient(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            // 08xxx: connection exception, 57P0x: sunucu kapanıyor / yeniden başlıyor
+            if (cause instanceof SQLException sql && sql.getSQLState() != null
+                    && (sql.getSQLState().startsWith("08") || sql.getSQLState().startsWith("57P0"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable rootCause(Throwable t) {
+        Throwable cause = t;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static void copy(Headers from, Headers to, String... names) {
+        for (String name : names) {
+            Header h = from.lastHeader(name);
+            if (h != null) to.add(name, h.value());
+        }
+    }
+
+    static String header(Headers headers, String name) {
+        Header h = headers.lastHeader(name);
+        return h == null || h.value() == null ? null : new String(h.value(), StandardCharsets.UTF_8);
+    }
+
+    private static int parseInt(String s, int fallback) {
+        if (s == null) return fallback;
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= MAX_MESSAGE_LENGTH ? s : s.substring(0, MAX_MESSAGE_LENGTH);
+    }
+}
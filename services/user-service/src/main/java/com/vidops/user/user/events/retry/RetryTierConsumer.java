@@ -0,0 +1,59 @@
+package com.vidops.user.user.events.retry;
+
+import com.vidops.user.config.EventRetryProperties;
+import com.vidops.user.user.events.UserEventApplier;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * <topic>.retry-n topic'lerini tüketir. Her katmanın kendi consumer group'u vardır, yani bir
+ * katmandaki bekleme ne asıl topic'leri ne diğer katmanları yavaşlatır.
+ *
+ * Kayıt, retry topic'ine yazıldığı andan (record timestamp) itibaren katmanın süresi dolana kadar
+ * bekletilir. Kayıtlar yazılış sırasıyla geldiği için genelde sadece ilk kayıt bekler. Tekrar
+ * hata alırsa error handler kaydı bir sonraki katmana (sonuncudaysa DLT'ye) taşır.
+ *
+ * Not: retry'a düşen event, aynı user id'nin asıl topic'teki sonraki event'lerinden sonra
+ * uygulanabilir; bu kayıtlar için sıra garantisi yoktur. Silme tombstone bıraktığı için geç
+ * uygulanan user.registered silinmiş profili tekrar açmaz; iki user.registered arasında ise
+ * geç gelen isim/email'i yazabilir.
+ */
+@Component
+public class RetryTierConsumer {
+
+    private final UserEventApplier applier;
+    private final EventRetryProperties props;
+
+    public RetryTierConsumer(UserEventApplier applier, EventRetryProperties props) {
+        this.applier = applier;
+        this.props = props;
+    }
+
+    // az kayıt: bekleme + işleme max.poll.interval.ms'yi aşmasın
+    @KafkaListener(topics = {"user.registered.retry-1", "user.deleted.retry-1"},
+            groupId = "user-service-retry-1", properties = "max.poll.records=50")
+    public void onTier1(ConsumerRecord<String, byte[]> record) throws InterruptedException {
+        retry(record, 1);
+    }
+
+    @KafkaListener(topics = {"user.registered.retry-2", "user.deleted.retry-2"},
+            groupId = "user-service-retry-2", properties = "max.poll.records=50")
+    public void onTier2(ConsumerRecord<String, byte[]> record) throws InterruptedException {
+        retry(record, 2);
+    }
+
+    @KafkaListener(topics = {"user.registered.retry-3", "user.deleted.retry-3"},
+            groupId = "user-service-retry-3", properties = "max.poll.records=50")
+    public void onTier3(ConsumerRecord<String, byte[]> record) throws InterruptedException {
+        retry(record, 3);
+    }
+
+    private void retry(ConsumerRecord<String, byte[]> record, int tier) throws InterruptedException {
+        long dueAt = record.timestamp() + props.delay(tier).toMillis();
+        long wait = dueAt - System.currentTimeMillis();
+        if (wait > 0) Thread.sleep(wait);
+
+        applier.prepare(EventRetryRouter.originalTopic(record), record.value()).run();
+    }
+}
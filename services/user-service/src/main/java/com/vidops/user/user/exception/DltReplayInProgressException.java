@@ -0,0 +1,7 @@
+package com.vidops.user.user.exception;
+
+public class DltReplayInProgressException extends RuntimeException {
+    public DltReplayInProgressException() {
+        super("A DLT replay is already running");
+    }
+}
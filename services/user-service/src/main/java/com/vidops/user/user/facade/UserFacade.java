@@ -4,11 +4,13 @@ import com.vidops.user.user.web.dto.CreateUserRequest;
 import com.vidops.user.user.web.dto.UpdateUserRequest;
 import com.vidops.user.user.web.dto.UserResponse;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public interface UserFacade {
     UserResponse create(CreateUserRequest req);
     UserResponse get(UUID id);
+    Optional<UserResponse> find(UUID id);
     UserResponse update(UUID id, UpdateUserRequest req);
     void delete(UUID id);
 }
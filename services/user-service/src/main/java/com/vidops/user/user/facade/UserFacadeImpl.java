@@ -3,12 +3,14 @@ package com.vidops.user.user.facade;
 import com.vidops.user.user.web.dto.CreateUserRequest;
 import com.vidops.user.user.web.dto.UpdateUserRequest;
 import com.vidops.user.user.web.dto.UserResponse;
+import com.vidops.user.user.cache.ProfileCache;
 import com.vidops.user.user.entity.UserProfile;
 import com.vidops.user.user.mapper.UserMapper;
 import com.vidops.user.user.service.UserService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -16,10 +18,12 @@ public class UserFacadeImpl implements UserFacade {
 
     private final UserService userService;
     private final UserMapper userMapper;
+    private final ProfileCache profileCache;
 
-    public UserFacadeImpl(UserService userService, UserMapper userMapper) {
+    public UserFacadeImpl(UserService userService, UserMapper userMapper, ProfileCache profileCache) {
         this.userService = userService;
         this.userMapper = userMapper;
+        this.profileCache = profileCache;
     }
 
     @Override
@@ -31,10 +35,17 @@ public class UserFacadeImpl implements UserFacade {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public UserResponse get(UUID id) {
-        UserProfile user = userService.getOrThrow(id);
-        return userMapper.toResponse(user);
+        return find(id).orElseThrow(() -> new IllegalArgumentException("User not found: " + id));
+    }
+
+    /**
+     * Cache'ten okur. Transactional değil: cache hit'te DB bağlantısı hiç alınmaz,
+     * miss'te userService.get kendi read-only transaction'ını açar.
+     */
+    @Override
+    public Optional<UserResponse> find(UUID id) {
+        return profileCache.get(id, () -> userService.get(id).map(userMapper::toResponse));
     }
 
     @Override
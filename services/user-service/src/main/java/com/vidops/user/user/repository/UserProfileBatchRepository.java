@@ -0,0 +1,154 @@
+package com.vidops.user.user.repository;
+
+import com.vidops.events.UserRegisteredEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Kafka batch'leri için tek sorguluk yazmalar. JPA'nın satır başına select + save döngüsü
+ * yerine Postgres array parametreleriyle (unnest / ANY) bütün batch tek round trip'te yazılır.
+ * Çağıranın transaction'ına katılır (JpaTransactionManager JDBC bağlantısını paylaşır).
+ */
+@Repository
+public class UserProfileBatchRepository {
+
+    /*
+     * UserRepository.upsertFromAuth'un çok satırlı hali (aynı kurallar):
+     *  - hedef kayıt: id varsa o; id yok ama email başka bir kayıttaysa o kayıt; yoksa yeni kayıt
+     *  - email boşsa veya başka kayıttaysa mevcut email kalır; email'i boş yeni kayıt eklenmez
+     *  - full_name: gelen isim > mevcut (boş değilse) > email'den türetilen isim
+     *  - alanlar zaten aynıysa satır yazılmaz
+     *  - id'si tombstone'lu (silinmiş) kullanıcının event'i yazılmaz
+     * İki event aynı hedef kayda düşerse Postgres "cannot affect row a second time" hatası verir;
+     * consumer bu durumda kayıt kayıt yazar.
+     */
+    private static final String UPSERT_FROM_AUTH = """
+            WITH input AS (
+                SELECT *
+                FROM unnest(?::uuid[], ?::text[], ?::text[], ?::text[], ?::text[]::timestamptz[])
+                     AS t(id, email, full_name, derived_name, created_at)
+            ),
+            target AS (
+                SELECT i.*,
+                       COALESCE(
+                           (SELECT p.id FROM user_profiles p
+                            WHERE p.email = i.email
+                              AND p.id <> i.id
+                              AND NOT EXISTS (SELECT 1 FROM user_profiles x WHERE x.id = i.id)),
+                           i.id) AS target_id
+                FROM input i
+                WHERE NOT EXISTS (SELECT 1 FROM user_profile_tombstones d WHERE d.id = i.id)
+            ),
+            resolved AS (
+                SELECT t.target_id AS id,
+                       CASE
+                           WHEN p.id IS NULL THEN t.email
+                           WHEN t.email IS NULL OR btrim(t.email) = '' THEN p.email
+                           WHEN EXISTS (SELECT 1 FROM user_profiles o WHERE o.email = t.email AND o.id <> p.id)
+                               THEN p.email
+                           ELSE t.email
+                       END AS email,
+                       COALESCE(t.full_name, NULLIF(btrim(p.full_name), ''), t.derived_name) AS full_name,
+                       t.full_name AS given_name,
+                       COALESCE(t.created_at, now()) AS created_at,
+                       p.id IS NOT NULL AS existing
+                FROM target t
+                LEFT JOIN user_profiles p ON p.id = t.target_id
+            )
+            INSERT INTO user_profiles AS p (id, email, full_name, plan, credits, created_at, updated_at)
+            SELECT r.id, r.email, r.full_name, 'FREE', 0, r.created_at, now()
+            FROM resolved r
+            WHERE r.existing OR btrim(r.email) <> ''
+            ON CONFLICT (id) DO UPDATE SET
+                email = EXCLUDED.email,
+                full_name = COALESCE(
+                    (SELECT r.given_name FROM resolved r WHERE r.id = EXCLUDED.id),
+                    NULLIF(btrim(p.full_name), ''),
+                    EXCLUDED.full_name),
+                updated_at = now()
+            WHERE (p.email, p.full_name) IS DISTINCT FROM (
+                EXCLUDED.email,
+                COALESCE(
+                    (SELECT r.given_name FROM resolved r WHERE r.id = EXCLUDED.id),
+                    NULLIF(btrim(p.full_name), ''),
+                    EXCLUDED.full_name))
+            RETURNING p.id
+            """;
+
+    // silmeyle birlikte tombstone yazılır; geç gelen user.registered profili tekrar açmaz
+    private static final String DELETE_BY_IDS = """
+            WITH ids AS (
+                SELECT DISTINCT unnest(?::uuid[]) AS id
+            ),
+            tombstones AS (
+                INSERT INTO user_profile_tombstones (id, deleted_at)
+                SELECT id, now() FROM ids
+                ON CONFLICT (id) DO NOTHING
+            )
+            DELETE FROM user_profiles p USING ids WHERE p.id = ids.id
+            """;
+
+    private static final String IS_DELETED = "SELECT EXISTS (SELECT 1 FROM user_profile_tombstones WHERE id = ?)";
+
+    private final JdbcTemplate jdbc;
+
+    public UserProfileBatchRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /**
+     * Event'ler id ve email bazında tekil olmalı (aynı email'le iki yeni kayıt unique
+     * constraint'e takılır). derivedNames, event'lerle aynı sırada email'den türetilmiş isimlerdir.
+     *
+     * @return gerçekten yazılan (eklenen veya değişen) kayıtların id'leri
+     */
+    public List<UUID> upsertFromAuth(List<UserRegisteredEvent> events, List<String> derivedNames) {
+        if (events.isEmpty()) return List.of();
+
+        return jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(UPSERT_FROM_AUTH);
+            ps.setArray(1, con.createArrayOf("uuid", column(events, UserRegisteredEvent::userId)));
+            ps.setArray(2, con.createArrayOf("text", column(events, UserRegisteredEvent::email)));
+            ps.setArray(3, con.createArrayOf("text", column(events, e -> trimToNull(e.fullName()))));
+            ps.setArray(4, con.createArrayOf("text", derivedNames.toArray()));
+            ps.setArray(5, con.createArrayOf("text",
+                    column(events, e -> e.timestamp() == null ? null : e.timestamp().toString())));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+
+    public int deleteByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) return 0;
+
+        return jdbc.update(con -> {
+            PreparedStatement ps = con.prepareStatement(DELETE_BY_IDS);
+            Array array = con.createArrayOf("uuid", ids.toArray());
+            ps.setArray(1, array);
+            return ps;
+        });
+    }
+
+    public boolean isDeleted(UUID id) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(IS_DELETED, Boolean.class, id));
+    }
+
+    private static Object[] column(List<UserRegisteredEvent> events, Function<UserRegisteredEvent, Object> f) {
+        Object[] values = new Object[events.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = f.apply(events.get(i));
+        }
+        return values;
+    }
+
+    private static String trimToNull(String s) {
+        if (s == null || s.isBlank()) return null;
+        return s.trim();
+    }
+}
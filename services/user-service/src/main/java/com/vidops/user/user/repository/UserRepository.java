@@ -2,12 +2,75 @@ package com.vidops.user.user.repository;
 
 import com.vidops.user.user.entity.UserProfile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserProfile, UUID> {
     Optional<UserProfile> findByEmail(String email);
+
+    /**
+     * UserServiceImpl.upsertFromAuth'un tek sorguluk hali; Kafka consumer'ı ile /account self-heal'i
+     * aynı id'yi aynı anda yazdığında ON CONFLICT (id) sayesinde unique hatası oluşmaz.
+     *
+     * Hedef kayıt: id varsa o; yoksa email başka bir kayıttaysa o kayıt; hiçbiri yoksa yeni kayıt.
+     * Email başka bir kayda aitse mevcut email korunur. Alanlar zaten aynıysa UPDATE yapılmaz.
+     * id'si tombstone'lu (silinmiş) kullanıcıya yazılmaz.
+     * Boş string parametreler "yok" anlamındadır (null binding tipsiz gider);
+     * email'i boş yeni kayıt eklenmez. Çakışmada fullName boşsa isim SQL içinde mevcut satırdan
+     * tekrar hesaplanır: satır sorgu başladıktan sonra eklendiyse onun ismi ezilmesin.
+     *
+     * @return yazılan (eklenen ya da değişen) satır; hiçbir şey yazılmadıysa boş (alanlar zaten
+     * aynı, email'i boş yeni kayıt ya da satır sorgu snapshot'ından sonra başka transaction'da
+     * eklendi). Çağıran cache'i sadece yazma olduysa invalidate eder.
+     */
+    @Query(value = """
+            WITH target AS (
+                SELECT COALESCE(
+                    (SELECT p.id FROM user_profiles p
+                     WHERE p.email = :email
+                       AND p.id <> CAST(:id AS uuid)
+                       AND NOT EXISTS (SELECT 1 FROM user_profiles x WHERE x.id = CAST(:id AS uuid))),
+                    CAST(:id AS uuid)) AS id
+            ),
+            resolved AS (
+                SELECT t.id,
+                       CASE
+                           WHEN p.id IS NULL THEN :email
+                           WHEN btrim(:email) = '' THEN p.email
+                           WHEN EXISTS (SELECT 1 FROM user_profiles o WHERE o.email = :email AND o.id <> p.id)
+                               THEN p.email
+                           ELSE :email
+                       END AS email,
+                       COALESCE(NULLIF(btrim(:fullName), ''), NULLIF(btrim(p.full_name), ''), :derivedName) AS full_name,
+                       p.id IS NOT NULL AS existing
+                FROM target t
+                LEFT JOIN user_profiles p ON p.id = t.id
+            ),
+            upserted AS (
+                INSERT INTO user_profiles AS p (id, email, full_name, plan, credits, created_at, updated_at)
+                SELECT r.id, r.email, r.full_name, 'FREE', 0, :createdAt, now()
+                FROM resolved r
+                WHERE (r.existing OR btrim(r.email) <> '')
+                  AND NOT EXISTS (SELECT 1 FROM user_profile_tombstones d WHERE d.id = CAST(:id AS uuid))
+                ON CONFLICT (id) DO UPDATE SET
+                    email = EXCLUDED.email,
+                    full_name = COALESCE(NULLIF(btrim(:fullName), ''), NULLIF(btrim(p.full_name), ''), EXCLUDED.full_name),
+                    updated_at = now()
+                WHERE (p.email, p.full_name) IS DISTINCT FROM
+                      (EXCLUDED.email, COALESCE(NULLIF(btrim(:fullName), ''), NULLIF(btrim(p.full_name), ''), EXCLUDED.full_name))
+                RETURNING p.*
+            )
+            SELECT * FROM upserted
+            """, nativeQuery = true)
+    Optional<UserProfile> upsertFromAuth(@Param("id") UUID id,
+                                         @Param("email") String email,
+                                         @Param("fullName") String fullName,
+                                         @Param("derivedName") String derivedName,
+                                         @Param("createdAt") Instant createdAt);
 }
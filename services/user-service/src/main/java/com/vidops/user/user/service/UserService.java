@@ -1,9 +1,12 @@
 package com.vidops.user.user.service;
 
+import com.vidops.events.UserRegisteredEvent;
 import com.vidops.user.user.entity.UserProfile;
 import com.vidops.user.user.enums.Plan;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,4 +25,11 @@ public interface UserService {
     void delete(UUID id);
 
     UserProfile upsertFromAuth(UUID userId, String email, String fullName, Instant createdAt);
+
+    /**
+     * upsertFromAuth'un tek sorguluk toplu hali. Event'ler user id bazında tekil olmalı.
+     */
+    void upsertFromAuthBatch(List<UserRegisteredEvent> events);
+
+    void deleteAll(Collection<UUID> ids);
 }
@@ -1,12 +1,21 @@
 package com.vidops.user.user.service;
 
+import com.vidops.events.UserRegisteredEvent;
+import com.vidops.user.user.cache.ProfileCacheInvalidator;
 import com.vidops.user.user.entity.UserProfile;
+import com.vidops.user.user.exception.UserNotFoundException;
 import com.vidops.user.user.enums.Plan;
+import com.vidops.user.user.repository.UserProfileBatchRepository;
 import com.vidops.user.user.repository.UserRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,9 +23,15 @@ import java.util.UUID;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repo;
+    private final UserProfileBatchRepository batchRepo;
+    private final ProfileCacheInvalidator cacheInvalidator;
 
-    public UserServiceImpl(UserRepository repo) {
+    public UserServiceImpl(UserRepository repo,
+                           UserProfileBatchRepository batchRepo,
+                           ProfileCacheInvalidator cacheInvalidator) {
         this.repo = repo;
+        this.batchRepo = batchRepo;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     @Override
@@ -48,6 +63,7 @@ public class UserServiceImpl implements UserService {
         }
 
         u.setUpdatedAt(Instant.now());
+        cacheInvalidator.evictAfterCommit(id);
         return repo.save(u);
     }
 
@@ -65,13 +81,16 @@ public class UserServiceImpl implements UserService {
         UserProfile u = getOrThrow(id);
         u.setPlan(newPlan);
         u.setUpdatedAt(Instant.now());
+        cacheInvalidator.evictAfterCommit(id);
         return repo.save(u);
     }
 
     @Override
     @Transactional
     public void delete(UUID id) {
-        repo.deleteById(id);
+        // tombstone ile birlikte silinir
+        batchRepo.deleteByIds(List.of(id));
+        cacheInvalidator.evictAfterCommit(id);
     }
 
     /**
@@ -81,68 +100,71 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public UserProfile upsertFromAuth(UUID userId, String email, String fullName, Instant createdAt) {
-
-        // 1) ID ile bul
-        Optional<UserProfile> byId = repo.findById(userId);
-        if (byId.isPresent()) {
-            UserProfile u = byId.get();
-            applyAuthFields(u, email, fullName);
-            u.setUpdatedAt(Instant.now());
-            return repo.save(u);
+        // tek sorgu: id / email eşleşmesi, insert ve "değişmediyse yazma" SQL içinde
+        Optional<UserProfile> written = repo.upsertFromAuth(
+                userId,
+                email != null ? email : "",
+                fullName != null ? fullName : "",
+                deriveNameFromEmail(email),
+                createdAt != null ? createdAt : Instant.now());
+
+        // yazma olmadıysa hedef kayıt (id, yoksa email eşleşmesi) yeni snapshot'la okunur
+        Optional<UserProfile> target = written
+                .or(() -> repo.findById(userId))
+                .or(() -> email == null || email.isBlank() ? Optional.empty() : repo.findByEmail(email));
+        if (target.isEmpty() && batchRepo.isDeleted(userId)) {
+            throw new UserNotFoundException(userId);
         }
+        UserProfile u = target
+                .orElseThrow(() -> new IllegalArgumentException("Email is required to create user: " + userId));
 
-        // 2) Email ile bul (eski kullanıcıyla eşleştirme)
-        if (email != null && !email.isBlank()) {
-            Optional<UserProfile> byEmail = repo.findByEmail(email);
-            if (byEmail.isPresent()) {
-                UserProfile u = byEmail.get();
-                // önemli: id boşsa/başka ise userId ile sabitlemek isteyebilirsin
-                // çoğu senaryoda id zaten dolu olur, ama emin olmak için:
-                if (u.getId() == null) {
-                    u.setId(userId);
-                }
-                applyAuthFields(u, email, fullName);
-                u.setUpdatedAt(Instant.now());
-                return repo.save(u);
-            }
+        // değişmeyen profil için replikaların cache'i boşa temizlenmesin;
+        // email eşleşmesinde kayıt başka id'de olabilir
+        if (written.isPresent()) {
+            cacheInvalidator.evictAfterCommit(userId, u.getId());
         }
-
-        // 3) Yoksa oluştur
-        UserProfile u = new UserProfile();
-        u.setId(userId);
-        u.setEmail(email);
-
-        String effectiveName = (fullName != null && !fullName.isBlank())
-                ? fullName.trim()
-                : deriveNameFromEmail(email);
-
-        u.setFullName(effectiveName);
-
-        u.setPlan(Plan.FREE);
-        u.setCredits(0);
-        u.setCreatedAt(createdAt != null ? createdAt : Instant.now());
-        u.setUpdatedAt(Instant.now()); // entity'de updatedAt varsa
-
-        return repo.save(u);
+        return u;
     }
 
-    private void applyAuthFields(UserProfile u, String email, String fullName) {
-        if (email != null && !email.isBlank()) {
-            u.setEmail(email);
+    @Override
+    @Transactional
+    public void upsertFromAuthBatch(List<UserRegisteredEvent> events) {
+        if (events.isEmpty()) return;
+
+        // aynı email'le iki yeni kayıt unique constraint'e takılır; sonuncusu kalır
+        Map<String, UserRegisteredEvent> byEmail = new LinkedHashMap<>();
+        List<UserRegisteredEvent> unique = new ArrayList<>(events.size());
+        for (UserRegisteredEvent e : events) {
+            if (e.email() == null || e.email().isBlank()) {
+                unique.add(e);
+            } else {
+                UserRegisteredEvent previous = byEmail.remove(e.email());
+                byEmail.put(e.email(), e.after(previous));
+            }
         }
+        unique.addAll(byEmail.values());
 
-        // fullName geldiyse onu yaz
-        if (fullName != null && !fullName.isBlank()) {
-            u.setFullName(fullName.trim());
-            return;
+        List<String> derivedNames = new ArrayList<>(unique.size());
+        for (UserRegisteredEvent e : unique) {
+            derivedNames.add(deriveNameFromEmail(e.email()));
         }
 
-        // fullName yoksa ve mevcut boşsa email'den türet
-        if (u.getFullName() == null || u.getFullName().isBlank()) {
-            u.setFullName(deriveNameFromEmail(email));
+        // sadece gerçekten yazılan kayıtların id'si döner (email eşleşmesiyle güncellenenler dahil);
+        // değişmeyen profiller için invalidation yayınlanmaz
+        List<UUID> written = batchRepo.upsertFromAuth(unique, derivedNames);
+        if (!written.isEmpty()) {
+            cacheInvalidator.evictAfterCommit(written.toArray(UUID[]::new));
         }
     }
 
+    @Override
+    @Transactional
+    public void deleteAll(Collection<UUID> ids) {
+        if (ids.isEmpty()) return;
+        batchRepo.deleteByIds(ids);
+        cacheInvalidator.evictAfterCommit(ids.toArray(UUID[]::new));
+    }
+
     private String deriveNameFromEmail(String email) {
         if (email == null || email.isBlank()) return "User";
         int idx = email.indexOf("@");
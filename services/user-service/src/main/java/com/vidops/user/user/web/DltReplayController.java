@@ -0,0 +1,59 @@
+package com.vidops.user.user.web;
+
+import com.vidops.user.config.EventRetryProperties;
+import com.vidops.user.user.events.retry.DltReplayService;
+import com.vidops.user.user.events.retry.EventRetryRouter;
+import com.vidops.user.user.exception.DltReplayInProgressException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Operasyon endpoint'i; gateway bu path'i yönlendirmez, servise doğrudan erişilir.
+ * JWT değil X-Vidops-Admin-Token ister (vidops.user.events.retry.replay-token; boşsa kapalı).
+ */
+@RestController
+@RequestMapping("/internal/events/dlt")
+public class DltReplayController {
+
+    private final DltReplayService replayService;
+    private final EventRetryRouter router;
+    private final EventRetryProperties props;
+
+    public DltReplayController(DltReplayService replayService, EventRetryRouter router, EventRetryProperties props) {
+        this.replayService = replayService;
+        this.router = router;
+        this.props = props;
+    }
+
+    @PostMapping("/{topic}/replay")
+    public ReplayResponse replay(@PathVariable String topic,
+                                 @RequestParam(required = false) Integer max,
+                                 @RequestHeader(name = "X-Vidops-Admin-Token", required = false) String token) {
+        assertAdmin(token);
+        if (!router.topics().contains(topic)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown topic: " + topic);
+        }
+
+        int limit = max == null || max <= 0 ? props.replayMaxRecords() : Math.min(max, props.replayMaxRecords());
+        try {
+            return new ReplayResponse(topic, EventRetryRouter.dltTopic(topic), replayService.replay(topic, limit));
+        } catch (DltReplayInProgressException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    private void assertAdmin(String token) {
+        if (!props.replayEnabled() || token == null
+                || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+                props.replayToken().getBytes(StandardCharsets.UTF_8))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+
+    public record ReplayResponse(String topic, String dlt, int replayed) {
+    }
+}
@@ -62,7 +62,7 @@ public class UserController {
 
     /**
      * Frontend login/register sonrası bunu çağırıyor.
-     * Access token içinden userId/email okuyup DB'den profile çekiyoruz.
+     * Access token içinden userId/email okuyup profile cache üzerinden (miss ise DB) çekiyoruz.
      * Eğer Kafka consumer henüz yazmadıysa burada self-heal yapıp DB'ye upsert ediyoruz.
      */
     @GetMapping("/account")
@@ -70,9 +70,9 @@ public class UserController {
         UUID userId = requireUserId(jwt);
         String email = jwt.getClaimAsString("email");
 
-        Optional<UserProfile> profile = userService.get(userId);
+        Optional<UserResponse> profile = userFacade.find(userId);
         if (profile.isPresent()) {
-            return ResponseEntity.ok(userMapper.toResponse(profile.get()));
+            return ResponseEntity.ok(profile.get());
         }
 
         UserProfile created = userService.upsertFromAuth(userId, email, null, null);
@@ -0,0 +1,8 @@
+-- Silinen kullanıcıların id'leri. Retry topic'inden / DLT replay'den geç gelen bir
+-- user.registered, sonrasında gelmiş user.deleted'ın sildiği profili tekrar açmasın:
+-- upsert'ler tombstone'u olan id'lere yazmaz. auth-service her hesap için yeni id ürettiği
+-- için tombstone'lar kalıcıdır.
+CREATE TABLE IF NOT EXISTS user_profile_tombstones (
+  id UUID PRIMARY KEY,
+  deleted_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
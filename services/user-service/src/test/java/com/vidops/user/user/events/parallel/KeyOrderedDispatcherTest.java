@@ -0,0 +1,123 @@
+package com.vidops.user.user.events.parallel;
+
+import com.vidops.user.config.ParallelConsumerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class KeyOrderedDispatcherTest {
+
+    private static final String TOPIC = "user.registered";
+
+    private final List<ConsumerRecord<?, ?>> recovered = Collections.synchronizedList(new ArrayList<>());
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(
+            mock(KafkaListenerEndpointRegistry.class),
+            "test",
+            new ParallelConsumerProperties(true, 1000, 3, Duration.ofMillis(1)),
+            (record, ex) -> recovered.add(record),
+            new SimpleMeterRegistry());
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.destroy();
+    }
+
+    @Test
+    void sameKeyRunsSeriallyInOffsetOrder() throws InterruptedException {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        List<Long> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch acked = new CountDownLatch(1);
+
+        for (long offset = 0; offset < 20; offset++) {
+            long o = offset;
+            Acknowledgment ack = o == 19 ? acked::countDown : () -> { };
+            dispatcher.dispatch(record("u1", o), ack, () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                order.add(o);
+                sleep(2);
+                active.decrementAndGet();
+            });
+        }
+
+        assertThat(acked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(maxActive.get()).isEqualTo(1);
+        assertThat(order).containsExactlyElementsOf(LongStream.range(0, 20).boxed().toList());
+    }
+
+    @Test
+    void laterKeyFinishingFirstIsNotAckedBeforeEarlierOffset() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        List<String> acks = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch acked = new CountDownLatch(1);
+
+        dispatcher.dispatch(record("a", 0), () -> acks.add("a"), () -> await(release));
+        dispatcher.dispatch(record("b", 1), () -> {
+            acks.add("b");
+            acked.countDown();
+        }, secondDone::countDown);
+
+        assertThat(secondDone.await(5, TimeUnit.SECONDS)).isTrue();
+        sleep(50);
+        assertThat(acks).isEmpty();
+
+        release.countDown();
+        assertThat(acked.await(5, TimeUnit.SECONDS)).isTrue();
+        // 0 ve 1 tek ack ile (1'in ack'i) commit edilir
+        assertThat(acks).containsExactly("b");
+    }
+
+    @Test
+    void failingRecordIsRecoveredAfterRetryAttemptsAndKeyContinues() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch acked = new CountDownLatch(1);
+        List<Long> applied = Collections.synchronizedList(new ArrayList<>());
+
+        dispatcher.dispatch(record("u1", 0), () -> { }, () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        });
+        dispatcher.dispatch(record("u1", 1), acked::countDown, () -> applied.add(1L));
+
+        assertThat(acked.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(recovered).extracting(ConsumerRecord::offset).containsExactly(0L);
+        assertThat(applied).containsExactly(1L);
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String key, long offset) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, key, new byte[0]);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
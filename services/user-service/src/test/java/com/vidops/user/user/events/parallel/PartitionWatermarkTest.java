@@ -0,0 +1,43 @@
+package com.vidops.user.user.events.parallel;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.Acknowledgment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PartitionWatermarkTest {
+
+    @Test
+    void outOfOrderCompletionAcksOnlyContiguousPrefix() {
+        PartitionWatermark watermark = new PartitionWatermark();
+        Acknowledgment ack0 = () -> { };
+        Acknowledgment ack1 = () -> { };
+        Acknowledgment ack2 = () -> { };
+        Acknowledgment ack3 = () -> { };
+        watermark.track(10, ack0);
+        watermark.track(11, ack1);
+        watermark.track(12, ack2);
+        watermark.track(13, ack3);
+
+        // baştaki kayıt bitmeden watermark ilerlemez
+        assertThat(watermark.complete(12)).isNull();
+        assertThat(watermark.complete(11)).isNull();
+        assertThat(watermark.size()).isEqualTo(4);
+
+        // 10 bitince 10..12 birlikte ack'lenir, 13 bekler
+        assertThat(watermark.complete(10)).isSameAs(ack2);
+        assertThat(watermark.size()).isEqualTo(1);
+
+        assertThat(watermark.complete(13)).isSameAs(ack3);
+        assertThat(watermark.size()).isZero();
+    }
+
+    @Test
+    void unknownOffsetIsIgnored() {
+        PartitionWatermark watermark = new PartitionWatermark();
+        watermark.track(0, () -> { });
+
+        assertThat(watermark.complete(5)).isNull();
+        assertThat(watermark.size()).isEqualTo(1);
+    }
+}